@@ -21,6 +21,9 @@ android {
         vectorDrawables {
             useSupportLibrary = true
         }
+
+        // Local solver engine per difficulty (bitmask or dancing_links)
+        buildConfigField("String", "SOLVER_ENGINES", "\"easy=bitmask,medium=bitmask,hard=dancing_links\"")
     }
 
     buildTypes {
@@ -41,6 +44,7 @@ android {
     }
     buildFeatures {
         compose = true
+        buildConfig = true
     }
     composeOptions {
         kotlinCompilerExtensionVersion = "1.5.14"
@@ -50,6 +54,16 @@ android {
             excludes += "/META-INF/{AL2.0,LGPL2.1}"
         }
     }
+    androidResources {
+        // The puzzle bank is memory-mapped, which needs it stored uncompressed in the APK
+        noCompress += "bin"
+    }
+}
+
+ksp {
+    // Room writes each schema version here; a version bump then shows up in review as a
+    // new JSON file next to the Migration in DatabaseMigrations that must reach it
+    arg("room.schemaLocation", "$projectDir/schemas")
 }
 
 configurations.all {
@@ -73,6 +87,9 @@ configurations.all {
 }
 
 dependencies {
+    // Grid model, solvers, grading, generation and move validation
+    implementation(project(":sudoku-engine"))
+
     implementation(libs.androidx.core.ktx)
     implementation(libs.androidx.lifecycle.runtime.ktx)
     implementation(libs.androidx.lifecycle.runtime.compose)
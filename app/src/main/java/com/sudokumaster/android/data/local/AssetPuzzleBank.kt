@@ -0,0 +1,46 @@
+package com.sudokumaster.android.data.local
+
+import android.content.Context
+import com.sudokumaster.android.domain.model.SudokuDifficulty
+import com.sudokumaster.engine.codec.BankPuzzle
+import com.sudokumaster.engine.codec.PuzzleBank
+import java.io.FileInputStream
+import java.nio.channels.FileChannel
+import kotlin.random.Random
+
+// Pre-graded puzzles shipped in assets/puzzle_bank.bin (regenerate with
+// ./gradlew :sudoku-engine:generatePuzzleBank). The asset is stored uncompressed and
+// memory-mapped on first use; puzzles are decoded one at a time from the mapping, so
+// the bank is never read onto the heap and there is no parse cost at startup.
+class AssetPuzzleBank(
+    private val context: Context
+) {
+
+    private val bank: PuzzleBank? by lazy { open() }
+
+    fun randomPuzzle(difficulty: SudokuDifficulty, random: Random = Random.Default): BankPuzzle? {
+        val bank = bank ?: return null
+        val count = bank.count(difficulty.level)
+        if (count == 0) return null
+        return bank.puzzle(difficulty.level, random.nextInt(count))
+    }
+
+    private fun open(): PuzzleBank? {
+        return try {
+            context.assets.openFd(ASSET_NAME).use { descriptor ->
+                FileInputStream(descriptor.fileDescriptor).channel.use { channel ->
+                    // The mapping stays valid after the channel is closed
+                    val buffer = channel.map(FileChannel.MapMode.READ_ONLY, descriptor.startOffset, descriptor.length)
+                    PuzzleBank(buffer)
+                }
+            }
+        } catch (e: Exception) {
+            println("⚠️ Puzzle bank unavailable: ${e.message}")
+            null
+        }
+    }
+
+    companion object {
+        private const val ASSET_NAME = "puzzle_bank.bin"
+    }
+}
@@ -0,0 +1,185 @@
+package com.sudokumaster.android.data.local
+
+import androidx.room.migration.Migration
+import androidx.sqlite.db.SupportSQLiteDatabase
+import androidx.sqlite.db.SupportSQLiteStatement
+import com.sudokumaster.engine.codec.SudokuGridTypeAdapter
+import com.sudokumaster.engine.model.PencilMarks
+import com.sudokumaster.engine.model.SudokuGrid
+import com.sudokumaster.engine.transform.PuzzleCanonicalizer
+
+// Schema history:
+//   1  baseline, grids stored as Gson JSON text
+//   2  offline_puzzles keyed by localId, with a unique canonicalHash
+//   3  game_progress.notes
+//   4  index on game_progress (isCompleted, timestamp)
+//   5  grids stored as 41-byte nibble BLOBs
+// Every step keeps the player's data; upgrades never fall back to wiping the database.
+object DatabaseMigrations {
+
+    private val gridAdapter = SudokuGridTypeAdapter()
+
+    // Re-keys offline puzzles and hashes them; copies of the same puzzle collapse to one
+    private val MIGRATION_1_2 = object : Migration(1, 2) {
+        override fun migrate(db: SupportSQLiteDatabase) {
+            db.execSQL(
+                "CREATE TABLE offline_puzzles_new (" +
+                    "localId INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, id INTEGER NOT NULL, " +
+                    "grid TEXT NOT NULL, solution TEXT NOT NULL, difficulty TEXT NOT NULL, " +
+                    "canonicalHash INTEGER NOT NULL, createdAt INTEGER NOT NULL)"
+            )
+            db.execSQL("CREATE UNIQUE INDEX index_offline_puzzles_new_canonicalHash ON offline_puzzles_new (canonicalHash)")
+
+            val canonicalizer = PuzzleCanonicalizer()
+            val insert = db.compileStatement(
+                "INSERT OR IGNORE INTO offline_puzzles_new (id, grid, solution, difficulty, canonicalHash, createdAt) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)"
+            )
+            db.query("SELECT id, grid, solution, difficulty, createdAt FROM offline_puzzles").use { cursor ->
+                while (cursor.moveToNext()) {
+                    val grid = cursor.getString(1)
+                    insert.bindLong(1, cursor.getLong(0))
+                    insert.bindString(2, grid)
+                    insert.bindString(3, cursor.getString(2))
+                    insert.bindString(4, cursor.getString(3))
+                    insert.bindLong(5, canonicalizer.canonicalHash(parseGrid(grid)))
+                    insert.bindLong(6, cursor.getLong(4))
+                    execute(insert)
+                }
+            }
+
+            db.execSQL("DROP TABLE offline_puzzles")
+            db.execSQL("DROP INDEX index_offline_puzzles_new_canonicalHash")
+            db.execSQL("ALTER TABLE offline_puzzles_new RENAME TO offline_puzzles")
+            db.execSQL("CREATE UNIQUE INDEX index_offline_puzzles_canonicalHash ON offline_puzzles (canonicalHash)")
+        }
+    }
+
+    // Existing games start without notes. SQLite can only add a NOT NULL column with a
+    // default, so the default is an all-zero PencilMarks blob; Room ignores it because the
+    // entity declares none.
+    private val MIGRATION_2_3 = object : Migration(2, 3) {
+        override fun migrate(db: SupportSQLiteDatabase) {
+            val emptyNotes = "0".repeat(PencilMarks.PACKED_SIZE * 2)
+            db.execSQL("ALTER TABLE game_progress ADD COLUMN notes BLOB NOT NULL DEFAULT X'$emptyNotes'")
+        }
+    }
+
+    // Adds the index behind the cold-start lookup of the latest unfinished game; no rows
+    // are rewritten
+    private val MIGRATION_3_4 = object : Migration(3, 4) {
+        override fun migrate(db: SupportSQLiteDatabase) {
+            db.execSQL(
+                "CREATE INDEX IF NOT EXISTS index_game_progress_isCompleted_timestamp " +
+                    "ON game_progress (isCompleted, timestamp)"
+            )
+        }
+    }
+
+    // SQLite cannot change a column's type, so both tables are rebuilt with every JSON grid
+    // re-encoded as a nibble BLOB
+    private val MIGRATION_4_5 = object : Migration(4, 5) {
+        override fun migrate(db: SupportSQLiteDatabase) {
+            db.execSQL(
+                "CREATE TABLE offline_puzzles_new (" +
+                    "localId INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, id INTEGER NOT NULL, " +
+                    "grid BLOB NOT NULL, solution BLOB NOT NULL, difficulty TEXT NOT NULL, " +
+                    "canonicalHash INTEGER NOT NULL, createdAt INTEGER NOT NULL)"
+            )
+            val insertPuzzle = db.compileStatement(
+                "INSERT INTO offline_puzzles_new (localId, id, grid, solution, difficulty, canonicalHash, createdAt) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)"
+            )
+            db.query(
+                "SELECT localId, id, grid, solution, difficulty, canonicalHash, createdAt FROM offline_puzzles"
+            ).use { cursor ->
+                while (cursor.moveToNext()) {
+                    insertPuzzle.bindLong(1, cursor.getLong(0))
+                    insertPuzzle.bindLong(2, cursor.getLong(1))
+                    insertPuzzle.bindBlob(3, encodeGrid(cursor.getString(2)))
+                    insertPuzzle.bindBlob(4, encodeGrid(cursor.getString(3)))
+                    insertPuzzle.bindString(5, cursor.getString(4))
+                    insertPuzzle.bindLong(6, cursor.getLong(5))
+                    insertPuzzle.bindLong(7, cursor.getLong(6))
+                    execute(insertPuzzle)
+                }
+            }
+            db.execSQL("DROP TABLE offline_puzzles")
+            db.execSQL("ALTER TABLE offline_puzzles_new RENAME TO offline_puzzles")
+            db.execSQL("CREATE UNIQUE INDEX index_offline_puzzles_canonicalHash ON offline_puzzles (canonicalHash)")
+
+            db.execSQL(
+                "CREATE TABLE game_progress_new (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, puzzleId INTEGER NOT NULL, userId INTEGER, " +
+                    "currentGrid BLOB NOT NULL, originalGrid BLOB NOT NULL, notes BLOB NOT NULL, " +
+                    "difficulty TEXT NOT NULL, isCompleted INTEGER NOT NULL, timeSpentSeconds INTEGER NOT NULL, " +
+                    "timestamp INTEGER NOT NULL)"
+            )
+            val insertProgress = db.compileStatement(
+                "INSERT INTO game_progress_new (id, puzzleId, userId, currentGrid, originalGrid, notes, difficulty, " +
+                    "isCompleted, timeSpentSeconds, timestamp) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+            )
+            db.query(
+                "SELECT id, puzzleId, userId, currentGrid, originalGrid, notes, difficulty, isCompleted, " +
+                    "timeSpentSeconds, timestamp FROM game_progress"
+            ).use { cursor ->
+                while (cursor.moveToNext()) {
+                    insertProgress.bindLong(1, cursor.getLong(0))
+                    insertProgress.bindLong(2, cursor.getLong(1))
+                    if (cursor.isNull(2)) insertProgress.bindNull(3) else insertProgress.bindLong(3, cursor.getLong(2))
+                    insertProgress.bindBlob(4, encodeGrid(cursor.getString(3)))
+                    insertProgress.bindBlob(5, encodeGrid(cursor.getString(4)))
+                    insertProgress.bindBlob(6, cursor.getBlob(5))
+                    insertProgress.bindString(7, cursor.getString(6))
+                    insertProgress.bindLong(8, cursor.getLong(7))
+                    insertProgress.bindLong(9, cursor.getLong(8))
+                    insertProgress.bindLong(10, cursor.getLong(9))
+                    execute(insertProgress)
+                }
+            }
+            db.execSQL("DROP TABLE game_progress")
+            db.execSQL("ALTER TABLE game_progress_new RENAME TO game_progress")
+            db.execSQL(
+                "CREATE INDEX index_game_progress_isCompleted_timestamp " +
+                    "ON game_progress (isCompleted, timestamp)"
+            )
+        }
+    }
+
+    // Checked on first use so a version bump without its migration fails at startup
+    // instead of leaving upgrading players without a path to the new schema
+    val ALL: Array<Migration> = arrayOf(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5)
+        .also { checkChain(it) }
+
+    private fun checkChain(migrations: Array<Migration>) {
+        var version = 1
+        for (migration in migrations) {
+            check(migration.startVersion == version && migration.endVersion == version + 1) {
+                "Migration ${migration.startVersion}->${migration.endVersion} breaks the chain at version $version"
+            }
+            version++
+        }
+        check(version == SudokuDatabase.VERSION) {
+            "Migrations end at version $version but the database is at ${SudokuDatabase.VERSION}"
+        }
+    }
+
+    private fun execute(statement: SupportSQLiteStatement) {
+        statement.executeInsert()
+        statement.clearBindings()
+    }
+
+    // Reads grids the way the old Gson converter wrote them; unreadable text becomes an
+    // empty grid, as it did when the converter read it
+    private fun parseGrid(json: String?): SudokuGrid {
+        if (json == null) return SudokuGrid.EMPTY
+        return try {
+            gridAdapter.fromJson(json) ?: SudokuGrid.EMPTY
+        } catch (error: Exception) {
+            println("⚠️ Unreadable grid during migration: ${error.message}")
+            SudokuGrid.EMPTY
+        }
+    }
+
+    private fun encodeGrid(json: String?): ByteArray = parseGrid(json).toBytes()
+}
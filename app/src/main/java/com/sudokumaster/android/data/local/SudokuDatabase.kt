@@ -3,21 +3,32 @@ package com.sudokumaster.android.data.local
 import androidx.room.*
 import androidx.room.TypeConverters
 import com.sudokumaster.android.domain.model.*
-import com.google.gson.Gson
-import com.google.gson.reflect.TypeToken
+import com.sudokumaster.engine.model.PencilMarks
+import com.sudokumaster.engine.model.SudokuGrid
 import java.util.*
 
 // Type converters for complex types
 class Converters {
+    // Grids are stored packed, 41 bytes each
     @TypeConverter
-    fun fromSudokuGrid(grid: SudokuGrid): String {
-        return Gson().toJson(grid)
+    fun fromSudokuGrid(grid: SudokuGrid): ByteArray {
+        return grid.toBytes()
     }
 
     @TypeConverter
-    fun toSudokuGrid(gridString: String): SudokuGrid {
-        val type = object : TypeToken<Array<Array<Int?>>>() {}.type
-        return Gson().fromJson(gridString, type)
+    fun toSudokuGrid(bytes: ByteArray): SudokuGrid {
+        return SudokuGrid.fromBytes(bytes)
+    }
+
+    // Notes are stored packed, 92 bytes per game
+    @TypeConverter
+    fun fromPencilMarks(notes: PencilMarks): ByteArray {
+        return notes.toBytes()
+    }
+
+    @TypeConverter
+    fun toPencilMarks(bytes: ByteArray): PencilMarks {
+        return PencilMarks.fromBytes(bytes)
     }
 
     @TypeConverter
@@ -41,41 +52,74 @@ class Converters {
     }
 }
 
-// Entity for offline puzzles
-@Entity(tableName = "offline_puzzles")
+// Entity for offline puzzles. `id` is the server id; rows are keyed locally so ids from
+// different sources cannot overwrite each other. canonicalHash identifies the puzzle up to
+// symmetry, and its unique index rejects a second copy of the same puzzle at insert time.
+@Entity(
+    tableName = "offline_puzzles",
+    indices = [Index(value = ["canonicalHash"], unique = true)]
+)
 data class OfflinePuzzleEntity(
-    @PrimaryKey val id: Int,
+    @PrimaryKey(autoGenerate = true) val localId: Long = 0,
+    val id: Int,
     val grid: SudokuGrid,
     val solution: SudokuGrid,
     val difficulty: SudokuDifficulty,
+    val canonicalHash: Long,
     val createdAt: Date = Date()
 )
 
-// Entity for local game progress
-@Entity(tableName = "game_progress")
+// Entity for local game progress. The index serves the cold-start lookup of the latest
+// unfinished game.
+@Entity(
+    tableName = "game_progress",
+    indices = [Index(value = ["isCompleted", "timestamp"])]
+)
 data class GameProgressEntity(
     @PrimaryKey(autoGenerate = true) val id: Long = 0,
     val puzzleId: Int,
     val userId: Int?,
     val currentGrid: SudokuGrid,
     val originalGrid: SudokuGrid,
+    val notes: PencilMarks = PencilMarks.EMPTY,
     val difficulty: SudokuDifficulty,
     val isCompleted: Boolean,
     val timeSpentSeconds: Int,
     val timestamp: Date = Date()
 )
 
+// Partial updates of a progress row written by autosave: the board with its notes and
+// status, or just the play time
+data class ProgressBoardUpdate(
+    val id: Long,
+    val currentGrid: SudokuGrid,
+    val notes: PencilMarks,
+    val isCompleted: Boolean,
+    val timeSpentSeconds: Int,
+    val timestamp: Date
+)
+
+data class ProgressTimeUpdate(
+    val id: Long,
+    val timeSpentSeconds: Int,
+    val timestamp: Date
+)
+
 // DAO for offline puzzles
 @Dao
 interface OfflinePuzzleDao {
     @Query("SELECT * FROM offline_puzzles WHERE difficulty = :difficulty ORDER BY createdAt DESC LIMIT 1")
     suspend fun getPuzzleByDifficulty(difficulty: SudokuDifficulty): OfflinePuzzleEntity?
 
+    @Query("SELECT * FROM offline_puzzles WHERE difficulty = :difficulty ORDER BY RANDOM() LIMIT 1")
+    suspend fun getRandomPuzzleByDifficulty(difficulty: SudokuDifficulty): OfflinePuzzleEntity?
+
     @Query("SELECT * FROM offline_puzzles WHERE difficulty = :difficulty ORDER BY createdAt DESC")
     suspend fun getPuzzlesByDifficulty(difficulty: SudokuDifficulty): List<OfflinePuzzleEntity>
 
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
-    suspend fun insertPuzzle(puzzle: OfflinePuzzleEntity)
+    // Returns the new row id, or -1 when an equivalent puzzle is already stored
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    suspend fun insertPuzzle(puzzle: OfflinePuzzleEntity): Long
 
     @Query("DELETE FROM offline_puzzles WHERE createdAt < :expireTime")
     suspend fun deleteExpiredPuzzles(expireTime: Date)
@@ -96,11 +140,20 @@ interface GameProgressDao {
     @Query("SELECT * FROM game_progress WHERE userId = :userId ORDER BY timestamp DESC")
     suspend fun getProgressByUser(userId: Int): List<GameProgressEntity>
 
+    @Query("SELECT * FROM game_progress WHERE isCompleted = 0 ORDER BY timestamp DESC LIMIT 1")
+    suspend fun getLatestUnfinishedProgress(): GameProgressEntity?
+
     @Query("SELECT * FROM game_progress WHERE puzzleId = :puzzleId AND userId = :userId LIMIT 1")
     suspend fun getProgressByPuzzleAndUser(puzzleId: Int, userId: Int?): GameProgressEntity?
 
     @Insert(onConflict = OnConflictStrategy.REPLACE)
-    suspend fun insertProgress(progress: GameProgressEntity)
+    suspend fun insertProgress(progress: GameProgressEntity): Long
+
+    @Update(entity = GameProgressEntity::class)
+    suspend fun updateBoard(update: ProgressBoardUpdate)
+
+    @Update(entity = GameProgressEntity::class)
+    suspend fun updateTime(update: ProgressTimeUpdate)
 
     @Query("DELETE FROM game_progress WHERE timestamp < :expireTime")
     suspend fun deleteOldProgress(expireTime: Date)
@@ -109,14 +162,19 @@ interface GameProgressDao {
     suspend fun deleteAllProgress()
 }
 
-// Main database
+// Main database; schema changes need a migration in DatabaseMigrations, and the
+// build exports each version's schema to app/schemas for review
 @Database(
     entities = [OfflinePuzzleEntity::class, GameProgressEntity::class],
-    version = 1,
-    exportSchema = false
+    version = SudokuDatabase.VERSION,
+    exportSchema = true
 )
 @TypeConverters(Converters::class)
 abstract class SudokuDatabase : RoomDatabase() {
     abstract fun offlinePuzzleDao(): OfflinePuzzleDao
     abstract fun gameProgressDao(): GameProgressDao
+
+    companion object {
+        const val VERSION = 5
+    }
 }
\ No newline at end of file
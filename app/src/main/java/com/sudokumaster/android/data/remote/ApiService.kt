@@ -1,6 +1,7 @@
 package com.sudokumaster.android.data.remote
 
 import com.sudokumaster.android.domain.model.*
+import com.sudokumaster.engine.model.SudokuGrid
 import retrofit2.Response
 import retrofit2.http.*
 
@@ -77,104 +78,29 @@ data class LoginRequest(
 )
 
 data class ValidateMoveRequest(
-    val grid: Array<Array<Int?>>,
+    val grid: SudokuGrid,
     val row: Int,
     val col: Int,
     val value: Int
-) {
-    override fun equals(other: Any?): Boolean {
-        if (this === other) return true
-        if (javaClass != other?.javaClass) return false
-
-        other as ValidateMoveRequest
-
-        if (!grid.contentDeepEquals(other.grid)) return false
-        if (row != other.row) return false
-        if (col != other.col) return false
-        if (value != other.value) return false
-
-        return true
-    }
-
-    override fun hashCode(): Int {
-        var result = grid.contentDeepHashCode()
-        result = 31 * result + row
-        result = 31 * result + col
-        result = 31 * result + value
-        return result
-    }
-}
+)
 
 data class ValidateMoveResponse(
     val isValid: Boolean
 )
 
 data class SolvePuzzleRequest(
-    val grid: Array<Array<Int?>>
-) {
-    override fun equals(other: Any?): Boolean {
-        if (this === other) return true
-        if (javaClass != other?.javaClass) return false
-
-        other as SolvePuzzleRequest
-
-        if (!grid.contentDeepEquals(other.grid)) return false
-
-        return true
-    }
-
-    override fun hashCode(): Int {
-        return grid.contentDeepHashCode()
-    }
-}
+    val grid: SudokuGrid
+)
 
+// The backend answers with an empty array when it cannot solve the grid
 data class SolvePuzzleResponse(
-    val solution: Array<Array<Int?>>
-) {
-    override fun equals(other: Any?): Boolean {
-        if (this === other) return true
-        if (javaClass != other?.javaClass) return false
-
-        other as SolvePuzzleResponse
-
-        if (!solution.contentDeepEquals(other.solution)) return false
-
-        return true
-    }
-
-    override fun hashCode(): Int {
-        return solution.contentDeepHashCode()
-    }
-}
+    val solution: SudokuGrid?
+)
 
 data class SaveProgressRequest(
     val userId: Int,
     val puzzleId: Int,
-    val currentGrid: Array<Array<Int?>>,
+    val currentGrid: SudokuGrid,
     val isCompleted: Boolean,
     val timeSpentSeconds: Int
-) {
-    override fun equals(other: Any?): Boolean {
-        if (this === other) return true
-        if (javaClass != other?.javaClass) return false
-
-        other as SaveProgressRequest
-
-        if (userId != other.userId) return false
-        if (puzzleId != other.puzzleId) return false
-        if (!currentGrid.contentDeepEquals(other.currentGrid)) return false
-        if (isCompleted != other.isCompleted) return false
-        if (timeSpentSeconds != other.timeSpentSeconds) return false
-
-        return true
-    }
-
-    override fun hashCode(): Int {
-        var result = userId
-        result = 31 * result + puzzleId
-        result = 31 * result + currentGrid.contentDeepHashCode()
-        result = 31 * result + isCompleted.hashCode()
-        result = 31 * result + timeSpentSeconds
-        return result
-    }
-}
\ No newline at end of file
+)
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.sudokumaster.android.data.repository
 
+import com.sudokumaster.android.data.local.AssetPuzzleBank
 import com.sudokumaster.android.data.local.SudokuDatabase
 import com.sudokumaster.android.data.local.OfflinePuzzleEntity
 import com.sudokumaster.android.data.local.GameProgressEntity
+import com.sudokumaster.android.data.local.ProgressBoardUpdate
+import com.sudokumaster.android.data.local.ProgressTimeUpdate
 import com.sudokumaster.android.data.remote.ApiService
 import com.sudokumaster.android.data.remote.SaveProgressRequest
 import com.sudokumaster.android.data.remote.SolvePuzzleRequest
@@ -10,6 +13,13 @@ import com.sudokumaster.android.data.remote.ValidateMoveRequest
 import com.sudokumaster.android.domain.model.*
 import com.sudokumaster.android.domain.repository.AuthRepository
 import com.sudokumaster.android.domain.repository.SudokuRepository
+import com.sudokumaster.engine.model.PencilMarks
+import com.sudokumaster.engine.model.SudokuGrid
+import com.sudokumaster.engine.solver.DifficultyGrader
+import com.sudokumaster.engine.solver.SudokuSolver
+import com.sudokumaster.engine.transform.PuzzleCanonicalizer
+import com.sudokumaster.engine.transform.PuzzleTransformer
+import com.sudokumaster.engine.validation.CandidateState
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.withContext
 import java.util.*
@@ -20,7 +30,12 @@ import javax.inject.Singleton
 class SudokuRepositoryImpl @Inject constructor(
     private val apiService: ApiService,
     private val database: SudokuDatabase,
-    private val authRepository: AuthRepository
+    private val authRepository: AuthRepository,
+    private val solver: SudokuSolver,
+    private val difficultyGrader: DifficultyGrader,
+    private val puzzleTransformer: PuzzleTransformer,
+    private val puzzleCanonicalizer: PuzzleCanonicalizer,
+    private val puzzleBank: AssetPuzzleBank
 ) : SudokuRepository {
 
     override suspend fun generatePuzzle(difficulty: SudokuDifficulty): SudokuPuzzle {
@@ -52,13 +67,13 @@ class SudokuRepositoryImpl @Inject constructor(
         }
     }
 
-    override suspend fun solvePuzzle(grid: SudokuGrid): SudokuGrid {
+    override suspend fun solvePuzzle(grid: SudokuGrid): SudokuGrid? {
         return withContext(Dispatchers.IO) {
             try {
                 val request = SolvePuzzleRequest(grid)
                 val response = apiService.solvePuzzle(request)
                 if (response.isSuccessful) {
-                    response.body()?.solution ?: emptyArray()
+                    response.body()?.solution
                 } else {
                     throw Exception("Failed to solve puzzle: ${response.code()} ${response.message()}")
                 }
@@ -113,27 +128,52 @@ class SudokuRepositoryImpl @Inject constructor(
     // Offline functionality
     override suspend fun getOfflinePuzzle(difficulty: SudokuDifficulty): SudokuPuzzle? {
         return withContext(Dispatchers.IO) {
-            val entity = database.offlinePuzzleDao().getPuzzleByDifficulty(difficulty)
-            entity?.let {
-                SudokuPuzzle(
-                    id = it.id,
-                    grid = it.grid,
-                    solution = it.solution,
-                    difficulty = it.difficulty
-                )
-            }
+            // Downloaded puzzles first, then the bank shipped with the app
+            val entity = database.offlinePuzzleDao().getRandomPuzzleByDifficulty(difficulty)
+            val (grid, solution) = entity?.let { it.grid to it.solution }
+                ?: puzzleBank.randomPuzzle(difficulty)?.let { it.grid to it.solution }
+                ?: return@withContext null
+
+            // Serve a fresh symmetric variant so one stored puzzle covers many games
+            val transform = puzzleTransformer.randomTransform()
+            SudokuPuzzle(
+                id = SudokuPuzzle.newLocalId(),
+                grid = transform.apply(grid),
+                solution = transform.apply(solution),
+                difficulty = difficulty
+            )
         }
     }
 
-    override suspend fun saveOfflinePuzzle(puzzle: SudokuPuzzle) {
-        withContext(Dispatchers.IO) {
+    override suspend fun saveOfflinePuzzle(puzzle: SudokuPuzzle): SudokuDifficulty? {
+        return withContext(Dispatchers.IO) {
+            // Never keep puzzles that have no solution or more than one. The answer key is
+            // the solution found here: the downloaded one may be missing or wrong.
+            val solution = solver.uniqueSolution(puzzle.grid)
+            if (solution == null) {
+                println("⚠️ Rejected offline puzzle ${puzzle.id}: it does not have a unique solution")
+                return@withContext null
+            }
+
+            // File the puzzle under the difficulty a player will actually experience
+            val grade = difficultyGrader.grade(puzzle.grid)
+            val gradedDifficulty = SudokuDifficulty.fromLevel(grade.level)
+            if (gradedDifficulty != puzzle.difficulty) {
+                println("📊 Puzzle ${puzzle.id} regraded from ${puzzle.difficulty.value} to ${gradedDifficulty.value} (score ${grade.score})")
+            }
+
             val entity = OfflinePuzzleEntity(
                 id = puzzle.id,
                 grid = puzzle.grid,
-                solution = puzzle.solution,
-                difficulty = puzzle.difficulty
+                solution = solution,
+                difficulty = gradedDifficulty,
+                canonicalHash = puzzleCanonicalizer.canonicalHash(puzzle.grid)
             )
-            database.offlinePuzzleDao().insertPuzzle(entity)
+            if (database.offlinePuzzleDao().insertPuzzle(entity) == -1L) {
+                println("♻️ Skipped offline puzzle ${puzzle.id}: an equivalent puzzle is already stored")
+                return@withContext null
+            }
+            gradedDifficulty
         }
     }
 
@@ -151,13 +191,20 @@ class SudokuRepositoryImpl @Inject constructor(
         }
     }
 
-    override suspend fun saveLocalProgress(record: StoredGameRecord) {
-        withContext(Dispatchers.IO) {
+    override suspend fun getOfflinePuzzleCount(difficulty: SudokuDifficulty): Int {
+        return withContext(Dispatchers.IO) {
+            database.offlinePuzzleDao().getPuzzleCount(difficulty)
+        }
+    }
+
+    override suspend fun saveLocalProgress(record: StoredGameRecord): Long {
+        return withContext(Dispatchers.IO) {
             val entity = GameProgressEntity(
                 puzzleId = record.puzzleId,
                 userId = record.userId,
                 currentGrid = record.currentGrid,
                 originalGrid = record.originalGrid,
+                notes = record.notes,
                 difficulty = record.difficulty,
                 isCompleted = record.isCompleted,
                 timeSpentSeconds = record.timeSpentSeconds,
@@ -167,24 +214,59 @@ class SudokuRepositoryImpl @Inject constructor(
         }
     }
 
+    override suspend fun updateLocalProgress(
+        progressId: Long,
+        currentGrid: SudokuGrid,
+        notes: PencilMarks,
+        isCompleted: Boolean,
+        timeSpentSeconds: Int
+    ) {
+        withContext(Dispatchers.IO) {
+            val update = ProgressBoardUpdate(
+                id = progressId,
+                currentGrid = currentGrid,
+                notes = notes,
+                isCompleted = isCompleted,
+                timeSpentSeconds = timeSpentSeconds,
+                timestamp = Date()
+            )
+            database.gameProgressDao().updateBoard(update)
+        }
+    }
+
+    override suspend fun updateLocalProgressTime(progressId: Long, timeSpentSeconds: Int) {
+        withContext(Dispatchers.IO) {
+            database.gameProgressDao().updateTime(ProgressTimeUpdate(progressId, timeSpentSeconds, Date()))
+        }
+    }
+
     override suspend fun getLocalProgress(): List<StoredGameRecord> {
         return withContext(Dispatchers.IO) {
-            val entities = database.gameProgressDao().getAllProgress()
-            entities.map { entity ->
-                StoredGameRecord(
-                    puzzleId = entity.puzzleId,
-                    userId = entity.userId,
-                    currentGrid = entity.currentGrid,
-                    originalGrid = entity.originalGrid,
-                    difficulty = entity.difficulty,
-                    isCompleted = entity.isCompleted,
-                    timeSpentSeconds = entity.timeSpentSeconds,
-                    timestamp = entity.timestamp
-                )
-            }
+            database.gameProgressDao().getAllProgress().map { it.toRecord() }
+        }
+    }
+
+    override suspend fun getLatestUnfinishedGame(): StoredGameRecord? {
+        return withContext(Dispatchers.IO) {
+            database.gameProgressDao().getLatestUnfinishedProgress()?.toRecord()
         }
     }
 
+    private fun GameProgressEntity.toRecord(): StoredGameRecord {
+        return StoredGameRecord(
+            puzzleId = puzzleId,
+            userId = userId,
+            currentGrid = currentGrid,
+            originalGrid = originalGrid,
+            notes = notes,
+            difficulty = difficulty,
+            isCompleted = isCompleted,
+            timeSpentSeconds = timeSpentSeconds,
+            timestamp = timestamp,
+            id = id
+        )
+    }
+
     override suspend fun clearExpiredPuzzles() {
         withContext(Dispatchers.IO) {
             val weekAgo = Calendar.getInstance().apply {
@@ -196,33 +278,12 @@ class SudokuRepositoryImpl @Inject constructor(
         }
     }
 
+    // Same row, column and box check the game board runs, on a state built for this call
+    // since the repository is shared across coroutines
     private fun validateMoveLocally(grid: SudokuGrid, row: Int, col: Int, value: Int): Boolean {
-        // Check row
-        for (c in 0..8) {
-            if (c != col && grid[row][c] == value) {
-                return false
-            }
-        }
-        
-        // Check column
-        for (r in 0..8) {
-            if (r != row && grid[r][col] == value) {
-                return false
-            }
-        }
-        
-        // Check 3x3 box
-        val boxRow = (row / 3) * 3
-        val boxCol = (col / 3) * 3
-        
-        for (r in boxRow until boxRow + 3) {
-            for (c in boxCol until boxCol + 3) {
-                if (r != row && c != col && grid[r][c] == value) {
-                    return false
-                }
-            }
-        }
-        
-        return true
+        if (value !in 1..9) return false
+        val state = CandidateState()
+        state.load(grid)
+        return state.isValidPlacement(row * 9 + col, value)
     }
-}
\ No newline at end of file
+}
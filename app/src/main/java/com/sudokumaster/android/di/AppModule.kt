@@ -4,16 +4,30 @@ import android.content.Context
 import androidx.room.Room
 import com.google.gson.Gson
 import com.google.gson.GsonBuilder
+import com.sudokumaster.android.BuildConfig
+import com.sudokumaster.android.data.local.AssetPuzzleBank
 import com.sudokumaster.android.data.local.AuthTokenStorage
+import com.sudokumaster.android.data.local.DatabaseMigrations
 import com.sudokumaster.android.data.local.SudokuDatabase
 import com.sudokumaster.android.data.remote.ApiService
 import com.sudokumaster.android.data.repository.AuthRepositoryImpl
 import com.sudokumaster.android.data.repository.SudokuRepositoryImpl
 import com.sudokumaster.android.domain.repository.AuthRepository
 import com.sudokumaster.android.domain.repository.SudokuRepository
+import com.sudokumaster.android.domain.solver.SolverEngine
+import com.sudokumaster.android.domain.solver.SolverSelector
 import com.sudokumaster.android.utils.AdManagerStub
 import com.sudokumaster.android.utils.NetworkMonitor
 import com.sudokumaster.android.utils.PerformanceMonitor
+import com.sudokumaster.engine.codec.SudokuGridTypeAdapter
+import com.sudokumaster.engine.generator.PuzzleGenerator
+import com.sudokumaster.engine.model.SudokuGrid
+import com.sudokumaster.engine.solver.BitmaskSolver
+import com.sudokumaster.engine.solver.DancingLinksSolver
+import com.sudokumaster.engine.solver.DifficultyGrader
+import com.sudokumaster.engine.solver.SudokuSolver
+import com.sudokumaster.engine.transform.PuzzleCanonicalizer
+import com.sudokumaster.engine.transform.PuzzleTransformer
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
@@ -36,6 +50,7 @@ object AppModule {
     fun provideGson(): Gson {
         return GsonBuilder()
             .setDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+            .registerTypeAdapter(SudokuGrid::class.java, SudokuGridTypeAdapter())
             .create()
     }
 
@@ -127,7 +142,7 @@ object AppModule {
             SudokuDatabase::class.java,
             "sudoku_database"
         )
-        .fallbackToDestructiveMigration()
+        .addMigrations(*DatabaseMigrations.ALL)
         .build()
     }
 
@@ -166,8 +181,88 @@ object AppModule {
     fun provideSudokuRepository(
         apiService: ApiService,
         database: SudokuDatabase,
-        authRepository: AuthRepository
+        authRepository: AuthRepository,
+        solver: SudokuSolver,
+        difficultyGrader: DifficultyGrader,
+        puzzleTransformer: PuzzleTransformer,
+        puzzleCanonicalizer: PuzzleCanonicalizer,
+        puzzleBank: AssetPuzzleBank
     ): SudokuRepository {
-        return SudokuRepositoryImpl(apiService, database, authRepository)
+        return SudokuRepositoryImpl(
+            apiService,
+            database,
+            authRepository,
+            solver,
+            difficultyGrader,
+            puzzleTransformer,
+            puzzleCanonicalizer,
+            puzzleBank
+        )
+    }
+
+    @Provides
+    @Singleton
+    fun provideBitmaskSolver(): BitmaskSolver {
+        return BitmaskSolver()
+    }
+
+    @Provides
+    @Singleton
+    fun provideDancingLinksSolver(): DancingLinksSolver {
+        return DancingLinksSolver()
+    }
+
+    @Provides
+    @Singleton
+    fun provideSudokuSolver(bitmaskSolver: BitmaskSolver): SudokuSolver {
+        return bitmaskSolver
+    }
+
+    @Provides
+    @Singleton
+    fun provideSolverSelector(
+        bitmaskSolver: BitmaskSolver,
+        dancingLinksSolver: DancingLinksSolver
+    ): SolverSelector {
+        return SolverSelector(
+            solvers = mapOf(
+                SolverEngine.BITMASK to bitmaskSolver,
+                SolverEngine.DANCING_LINKS to dancingLinksSolver
+            ),
+            engineByDifficulty = SolverSelector.parseConfig(BuildConfig.SOLVER_ENGINES)
+        )
+    }
+
+    @Provides
+    @Singleton
+    fun provideDifficultyGrader(): DifficultyGrader {
+        return DifficultyGrader()
+    }
+
+    @Provides
+    @Singleton
+    fun providePuzzleGenerator(
+        solver: SudokuSolver,
+        difficultyGrader: DifficultyGrader
+    ): PuzzleGenerator {
+        return PuzzleGenerator(solver, difficultyGrader)
+    }
+
+    @Provides
+    @Singleton
+    fun providePuzzleTransformer(): PuzzleTransformer {
+        return PuzzleTransformer()
+    }
+
+    @Provides
+    @Singleton
+    fun providePuzzleCanonicalizer(): PuzzleCanonicalizer {
+        return PuzzleCanonicalizer()
+    }
+
+    @Provides
+    @Singleton
+    fun provideAssetPuzzleBank(@ApplicationContext context: Context): AssetPuzzleBank {
+        return AssetPuzzleBank(context)
     }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.sudokumaster.android.domain.generator
+
+import com.sudokumaster.android.domain.model.SudokuDifficulty
+import com.sudokumaster.android.domain.model.SudokuPuzzle
+import com.sudokumaster.engine.generator.PuzzleGenerator
+import kotlin.random.Random
+
+// Generates a playable puzzle for an app difficulty
+fun PuzzleGenerator.generatePuzzle(
+    difficulty: SudokuDifficulty,
+    random: Random = Random.Default
+): SudokuPuzzle {
+    val generated = generate(difficulty.level, difficulty.cellsToRemove)
+    return SudokuPuzzle(
+        id = SudokuPuzzle.newLocalId(random),
+        grid = generated.grid,
+        solution = generated.solution,
+        difficulty = difficulty
+    )
+}
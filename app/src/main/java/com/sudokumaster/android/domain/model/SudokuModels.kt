@@ -1,10 +1,11 @@
 package com.sudokumaster.android.domain.model
 
 import androidx.compose.ui.graphics.Color
+import com.sudokumaster.engine.model.DifficultyLevel
+import com.sudokumaster.engine.model.PencilMarks
+import com.sudokumaster.engine.model.SudokuGrid
 import java.util.Date
-
-// Sudoku grid represented as 9x9 array of nullable integers
-typealias SudokuGrid = Array<Array<Int?>>
+import kotlin.random.Random
 
 // Difficulty levels for Sudoku puzzles
 enum class SudokuDifficulty(val value: String) {
@@ -26,6 +27,14 @@ enum class SudokuDifficulty(val value: String) {
             HARD -> 55  // Shows 26 cells
         }
 
+    // Band the engine grades and generates puzzles for
+    val level: DifficultyLevel
+        get() = when (this) {
+            EASY -> DifficultyLevel.EASY
+            MEDIUM -> DifficultyLevel.MEDIUM
+            HARD -> DifficultyLevel.HARD
+        }
+
     val color: Color
         get() = when (this) {
             EASY -> Color(0xFF4CAF50)  // Green
@@ -114,6 +123,14 @@ enum class SudokuDifficulty(val value: String) {
         fun fromString(value: String): SudokuDifficulty {
             return values().find { it.value == value } ?: EASY
         }
+
+        fun fromLevel(level: DifficultyLevel): SudokuDifficulty {
+            return when (level) {
+                DifficultyLevel.EASY -> EASY
+                DifficultyLevel.MEDIUM -> MEDIUM
+                DifficultyLevel.HARD -> HARD
+            }
+        }
     }
 }
 
@@ -132,6 +149,14 @@ data class SudokuPuzzle(
 ) {
     val puzzleId: String
         get() = "${id}-${difficulty.value}"
+
+    companion object {
+        // Puzzles created on the device (generated or derived) use negative ids
+        // so they never collide with puzzles served by the API
+        fun newLocalId(random: Random = Random.Default): Int {
+            return -(random.nextInt(Int.MAX_VALUE - 1) + 1)
+        }
+    }
 }
 
 // Theme options
@@ -234,10 +259,13 @@ data class StoredGameRecord(
     val userId: Int?,
     val currentGrid: SudokuGrid,
     val originalGrid: SudokuGrid,
+    val notes: PencilMarks = PencilMarks.EMPTY,
     val difficulty: SudokuDifficulty,
     val isCompleted: Boolean,
     val timeSpentSeconds: Int,
-    val timestamp: Date
+    val timestamp: Date,
+    // Local row id, 0 until the record has been stored
+    val id: Long = 0
 )
 
 // Model for saved custom puzzle in local storage
@@ -1,11 +1,13 @@
 package com.sudokumaster.android.domain.repository
 
 import com.sudokumaster.android.domain.model.*
+import com.sudokumaster.engine.model.PencilMarks
+import com.sudokumaster.engine.model.SudokuGrid
 
 interface SudokuRepository {
     suspend fun generatePuzzle(difficulty: SudokuDifficulty): SudokuPuzzle
     suspend fun validateMove(grid: SudokuGrid, row: Int, col: Int, value: Int): Boolean
-    suspend fun solvePuzzle(grid: SudokuGrid): SudokuGrid
+    suspend fun solvePuzzle(grid: SudokuGrid): SudokuGrid?
     suspend fun saveGameProgress(
         userId: Int,
         puzzleId: Int,
@@ -17,9 +19,22 @@ interface SudokuRepository {
     
     // Offline functionality
     suspend fun getOfflinePuzzle(difficulty: SudokuDifficulty): SudokuPuzzle?
-    suspend fun saveOfflinePuzzle(puzzle: SudokuPuzzle)
+    // Stores the puzzle under the difficulty it grades as and returns that difficulty, or
+    // null when the puzzle was rejected or an equivalent one is already stored
+    suspend fun saveOfflinePuzzle(puzzle: SudokuPuzzle): SudokuDifficulty?
     suspend fun getOfflinePuzzles(difficulty: SudokuDifficulty): List<SudokuPuzzle>
-    suspend fun saveLocalProgress(record: StoredGameRecord)
+    suspend fun getOfflinePuzzleCount(difficulty: SudokuDifficulty): Int
+    // Inserts a progress row and returns its id
+    suspend fun saveLocalProgress(record: StoredGameRecord): Long
+    suspend fun updateLocalProgress(
+        progressId: Long,
+        currentGrid: SudokuGrid,
+        notes: PencilMarks,
+        isCompleted: Boolean,
+        timeSpentSeconds: Int
+    )
+    suspend fun updateLocalProgressTime(progressId: Long, timeSpentSeconds: Int)
     suspend fun getLocalProgress(): List<StoredGameRecord>
+    suspend fun getLatestUnfinishedGame(): StoredGameRecord?
     suspend fun clearExpiredPuzzles()
 }
\ No newline at end of file
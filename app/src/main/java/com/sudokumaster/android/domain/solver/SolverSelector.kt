@@ -0,0 +1,44 @@
+package com.sudokumaster.android.domain.solver
+
+import com.sudokumaster.android.domain.model.SudokuDifficulty
+import com.sudokumaster.engine.solver.SudokuSolver
+
+// Local solver engines available to the app
+enum class SolverEngine(val value: String) {
+    BITMASK("bitmask"),
+    DANCING_LINKS("dancing_links");
+
+    companion object {
+        fun fromString(value: String): SolverEngine? {
+            return values().find { it.value == value }
+        }
+    }
+}
+
+// Picks the solver engine for a difficulty. The mapping comes from configuration
+// (the SOLVER_ENGINES build config field), e.g. "easy=bitmask,hard=dancing_links".
+// Difficulties without an entry use the bitmask engine.
+class SolverSelector(
+    private val solvers: Map<SolverEngine, SudokuSolver>,
+    private val engineByDifficulty: Map<SudokuDifficulty, SolverEngine>
+) {
+
+    fun solverFor(difficulty: SudokuDifficulty): SudokuSolver {
+        val engine = engineByDifficulty[difficulty] ?: SolverEngine.BITMASK
+        return solvers[engine] ?: solvers.getValue(SolverEngine.BITMASK)
+    }
+
+    companion object {
+        fun parseConfig(config: String): Map<SudokuDifficulty, SolverEngine> {
+            val result = mutableMapOf<SudokuDifficulty, SolverEngine>()
+            for (entry in config.split(',')) {
+                val parts = entry.split('=')
+                if (parts.size != 2) continue
+                val difficulty = SudokuDifficulty.values().find { it.value == parts[0].trim() } ?: continue
+                val engine = SolverEngine.fromString(parts[1].trim()) ?: continue
+                result[difficulty] = engine
+            }
+            return result
+        }
+    }
+}
@@ -9,6 +9,8 @@ import androidx.compose.foundation.shape.RoundedCornerShape
 import androidx.compose.foundation.verticalScroll
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.automirrored.filled.ExitToApp
+import androidx.compose.material.icons.automirrored.filled.Redo
+import androidx.compose.material.icons.automirrored.filled.Undo
 import androidx.compose.material.icons.filled.*
 import androidx.compose.material3.*
 import androidx.compose.runtime.*
@@ -23,9 +25,10 @@ import androidx.compose.ui.text.style.TextAlign
 import androidx.compose.ui.unit.dp
 import androidx.compose.ui.unit.sp
 import androidx.hilt.navigation.compose.hiltViewModel
+import androidx.lifecycle.compose.LifecycleStartEffect
 import androidx.lifecycle.compose.collectAsStateWithLifecycle
 import com.sudokumaster.android.domain.model.SudokuDifficulty
-import com.sudokumaster.android.presentation.ui.game.components.SudokuBoard
+import com.sudokumaster.android.presentation.ui.game.components.SudokuCanvasBoard
 import com.sudokumaster.android.presentation.ui.game.components.NumberPad
 import com.sudokumaster.android.presentation.ui.game.components.VictoryDialog
 import com.sudokumaster.android.presentation.viewmodel.AuthViewModel
@@ -45,19 +48,25 @@ fun GameScreen(
     val currentUser by authViewModel.currentUser.collectAsStateWithLifecycle()
     val isGuestMode by authViewModel.isGuestMode.collectAsStateWithLifecycle()
     
-    // Game state
-    val grid by sudokuViewModel.grid.collectAsStateWithLifecycle()
-    val originalGrid by sudokuViewModel.originalGrid.collectAsStateWithLifecycle()
-    val selectedCell by sudokuViewModel.selectedCell.collectAsStateWithLifecycle()
+    // Game state: one snapshot per move. The screen only reads the fields it shows, each
+    // through derivedStateOf, so a move that changes just the board (a note, a digit)
+    // recomposes nothing here; the board reads its own state. The timer is likewise read
+    // only where it is shown, so its 1 Hz tick never recomposes the screen.
+    val uiState = sudokuViewModel.uiState.collectAsStateWithLifecycle()
+    val isLoading by remember { derivedStateOf { uiState.value.isLoading } }
+    val showVictoryAlert by remember { derivedStateOf { uiState.value.showVictoryAlert } }
+    val errorMessage by remember { derivedStateOf { uiState.value.errorMessage } }
+    val canUndo by remember { derivedStateOf { uiState.value.canUndo } }
+    val canRedo by remember { derivedStateOf { uiState.value.canRedo } }
+    val isNotesMode by remember { derivedStateOf { uiState.value.isNotesMode } }
     val difficulty by sudokuViewModel.difficulty.collectAsStateWithLifecycle()
-    val errors by sudokuViewModel.errors.collectAsStateWithLifecycle()
-    val isLoading by sudokuViewModel.isLoading.collectAsStateWithLifecycle()
-    val isVictory by sudokuViewModel.isVictory.collectAsStateWithLifecycle()
-    val showVictoryAlert by sudokuViewModel.showVictoryAlert.collectAsStateWithLifecycle()
-    val errorMessage by sudokuViewModel.errorMessage.collectAsStateWithLifecycle()
-    val timeSpentSeconds by sudokuViewModel.timeSpentSeconds.collectAsStateWithLifecycle()
     val isOfflineMode by sudokuViewModel.isOfflineMode.collectAsStateWithLifecycle()
-    val hintCell by sudokuViewModel.hintCell.collectAsStateWithLifecycle()
+    
+    // The game clock only runs while this screen is visible
+    LifecycleStartEffect(sudokuViewModel) {
+        sudokuViewModel.onScreenStarted()
+        onStopOrDispose { sudokuViewModel.onScreenStopped() }
+    }
     
     var showMenu by remember { mutableStateOf(false) }
 
@@ -248,6 +257,7 @@ fun GameScreen(
                             shape = RoundedCornerShape(12.dp),
                             color = MaterialTheme.colorScheme.primaryContainer.copy(alpha = 0.7f)
                         ) {
+                            val timeSpentSeconds by sudokuViewModel.timeSpentSeconds.collectAsStateWithLifecycle()
                             Text(
                                 text = formatTime(timeSpentSeconds),
                                 fontSize = 20.sp,
@@ -323,18 +333,10 @@ fun GameScreen(
                 }
             } else {
                 // Modern Sudoku board
-                SudokuBoard(
-                    grid = grid,
-                    originalGrid = originalGrid,
-                    selectedCell = selectedCell,
-                    errors = errors,
-                    hintCell = hintCell,
-                    onCellClick = { row, col ->
-                        sudokuViewModel.setSelectedCell(
-                            if (selectedCell?.row == row && selectedCell?.col == col) 
-                                null else com.sudokumaster.android.domain.model.CellPosition(row, col)
-                        )
-                    },
+                SudokuCanvasBoard(
+                    board = { uiState.value.board },
+                    // Must not capture per-move state, or the board recomposes on every selection
+                    onCellClick = sudokuViewModel::toggleCellSelection,
                     modifier = Modifier.fillMaxWidth()
                 )
 
@@ -346,9 +348,49 @@ fun GameScreen(
                     onEraseClick = {
                         sudokuViewModel.eraseNumber()
                     },
+                    isNotesMode = isNotesMode,
+                    onNotesModeToggle = {
+                        sudokuViewModel.toggleNotesMode()
+                    },
                     modifier = Modifier.fillMaxWidth()
                 )
 
+                // Undo / redo
+                Row(
+                    modifier = Modifier.fillMaxWidth(),
+                    horizontalArrangement = Arrangement.spacedBy(12.dp)
+                ) {
+                    OutlinedButton(
+                        onClick = { sudokuViewModel.undo() },
+                        enabled = canUndo,
+                        modifier = Modifier.weight(1f),
+                        shape = RoundedCornerShape(16.dp)
+                    ) {
+                        Icon(
+                            Icons.AutoMirrored.Default.Undo,
+                            contentDescription = null,
+                            modifier = Modifier.size(18.dp)
+                        )
+                        Spacer(modifier = Modifier.width(8.dp))
+                        Text("Undo", fontWeight = FontWeight.SemiBold)
+                    }
+
+                    OutlinedButton(
+                        onClick = { sudokuViewModel.redo() },
+                        enabled = canRedo,
+                        modifier = Modifier.weight(1f),
+                        shape = RoundedCornerShape(16.dp)
+                    ) {
+                        Icon(
+                            Icons.AutoMirrored.Default.Redo,
+                            contentDescription = null,
+                            modifier = Modifier.size(18.dp)
+                        )
+                        Spacer(modifier = Modifier.width(8.dp))
+                        Text("Redo", fontWeight = FontWeight.SemiBold)
+                    }
+                }
+
                 // Modern action buttons
                 Row(
                     modifier = Modifier.fillMaxWidth(),
@@ -405,6 +447,7 @@ fun GameScreen(
 
     // Victory dialog
     if (showVictoryAlert) {
+        val timeSpentSeconds by sudokuViewModel.timeSpentSeconds.collectAsStateWithLifecycle()
         VictoryDialog(
             timeSpent = timeSpentSeconds,
             difficulty = difficulty,
@@ -7,6 +7,7 @@ import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.shape.RoundedCornerShape
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.automirrored.filled.Backspace
+import androidx.compose.material.icons.filled.Edit
 import androidx.compose.material3.*
 import androidx.compose.runtime.*
 import androidx.compose.ui.Alignment
@@ -22,6 +23,8 @@ import androidx.compose.ui.unit.sp
 fun NumberPad(
     onNumberClick: (Int) -> Unit,
     onEraseClick: () -> Unit,
+    isNotesMode: Boolean,
+    onNotesModeToggle: () -> Unit,
     modifier: Modifier = Modifier
 ) {
     ElevatedCard(
@@ -69,6 +72,21 @@ fun NumberPad(
                     modifier = Modifier.weight(1f)
                 )
             }
+            
+            // Notes mode: digits toggle pencil marks in the selected cell
+            FilterChip(
+                selected = isNotesMode,
+                onClick = onNotesModeToggle,
+                label = { Text("Notes", fontWeight = FontWeight.SemiBold) },
+                leadingIcon = {
+                    Icon(
+                        Icons.Default.Edit,
+                        contentDescription = null,
+                        modifier = Modifier.size(18.dp)
+                    )
+                },
+                modifier = Modifier.align(Alignment.CenterHorizontally)
+            )
         }
     }
 }
@@ -0,0 +1,351 @@
+package com.sudokumaster.android.presentation.ui.game.components
+
+import androidx.compose.foundation.Canvas
+import androidx.compose.foundation.gestures.detectTapGestures
+import androidx.compose.foundation.layout.Box
+import androidx.compose.foundation.layout.Spacer
+import androidx.compose.foundation.layout.aspectRatio
+import androidx.compose.foundation.layout.padding
+import androidx.compose.foundation.shape.RoundedCornerShape
+import androidx.compose.material3.*
+import androidx.compose.runtime.*
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.draw.shadow
+import androidx.compose.ui.geometry.CornerRadius
+import androidx.compose.ui.geometry.Offset
+import androidx.compose.ui.geometry.Size
+import androidx.compose.ui.graphics.Color
+import androidx.compose.ui.graphics.drawscope.DrawScope
+import androidx.compose.ui.graphics.drawscope.Stroke
+import androidx.compose.ui.input.pointer.pointerInput
+import androidx.compose.ui.layout.Layout
+import androidx.compose.ui.semantics.Role
+import androidx.compose.ui.semantics.contentDescription
+import androidx.compose.ui.semantics.onClick
+import androidx.compose.ui.semantics.role
+import androidx.compose.ui.semantics.selected
+import androidx.compose.ui.semantics.semantics
+import androidx.compose.ui.text.TextLayoutResult
+import androidx.compose.ui.text.TextMeasurer
+import androidx.compose.ui.text.TextStyle
+import androidx.compose.ui.text.drawText
+import androidx.compose.ui.text.font.FontWeight
+import androidx.compose.ui.text.rememberTextMeasurer
+import androidx.compose.ui.unit.Constraints
+import androidx.compose.ui.unit.dp
+import androidx.compose.ui.unit.sp
+import com.sudokumaster.android.presentation.viewmodel.BoardUiState
+import com.sudokumaster.android.presentation.viewmodel.CellUiState
+import com.sudokumaster.android.utils.RecompositionCounter
+import com.sudokumaster.android.utils.ReportRecompositions
+import com.sudokumaster.android.utils.TrackRecompositions
+import kotlin.math.roundToInt
+
+// The board drawn in a single Canvas: boxes, cells, highlights, digits and notes are one
+// draw pass over one layout node, instead of 90 cards with their own shadows, borders and
+// animations. Digit layouts are measured once and reused; taps are mapped to cells with
+// the same arithmetic that places them.
+//
+// `board` is read while drawing, so a move redraws the Canvas without recomposing it. The
+// price is that any change, a single note included, redraws all 81 cells; drawing them is
+// cheap next to recomposing them. Screen readers get one invisible node per cell on top.
+@Composable
+fun SudokuCanvasBoard(
+    board: () -> BoardUiState,
+    onCellClick: (Int, Int) -> Unit,
+    modifier: Modifier = Modifier
+) {
+    TrackRecompositions(RecompositionCounter.SUDOKU_CANVAS_BOARD)
+
+    val colors = BoardColors(
+        box = MaterialTheme.colorScheme.surface.copy(alpha = 0.5f),
+        boxBorder = MaterialTheme.colorScheme.outline.copy(alpha = 0.3f),
+        cell = MaterialTheme.colorScheme.surfaceContainerHigh,
+        selectedCell = MaterialTheme.colorScheme.primaryContainer.copy(alpha = 0.8f),
+        errorCell = MaterialTheme.colorScheme.errorContainer.copy(alpha = 0.7f),
+        hintCell = MaterialTheme.colorScheme.tertiaryContainer.copy(alpha = 0.7f),
+        selectedBorder = MaterialTheme.colorScheme.primary,
+        errorBorder = MaterialTheme.colorScheme.error,
+        originalDigit = MaterialTheme.colorScheme.onSurface,
+        userDigit = MaterialTheme.colorScheme.primary,
+        selectedDigit = MaterialTheme.colorScheme.onPrimaryContainer,
+        errorDigit = MaterialTheme.colorScheme.onErrorContainer,
+        hintDigit = MaterialTheme.colorScheme.onTertiaryContainer,
+        note = MaterialTheme.colorScheme.onSurfaceVariant
+    )
+
+    val textMeasurer = rememberTextMeasurer()
+    val digits = remember(textMeasurer) { DigitLayouts.measure(textMeasurer) }
+    val currentOnCellClick by rememberUpdatedState(onCellClick)
+
+    ElevatedCard(
+        modifier = modifier
+            .shadow(
+                elevation = 12.dp,
+                shape = RoundedCornerShape(24.dp),
+                ambientColor = MaterialTheme.colorScheme.primary.copy(alpha = 0.1f)
+            ),
+        elevation = CardDefaults.elevatedCardElevation(defaultElevation = 12.dp),
+        shape = RoundedCornerShape(24.dp),
+        colors = CardDefaults.elevatedCardColors(
+            containerColor = MaterialTheme.colorScheme.surfaceContainerHighest
+        )
+    ) {
+        Box(
+            modifier = Modifier
+                .padding(16.dp)
+                .aspectRatio(1f)
+        ) {
+            Canvas(
+                modifier = Modifier
+                    .matchParentSize()
+                    .pointerInput(Unit) {
+                        detectTapGestures { offset ->
+                            val metrics = BoardMetrics(size.width.toFloat(), density)
+                            val row = metrics.cellAt(offset.y)
+                            val col = metrics.cellAt(offset.x)
+                            if (row >= 0 && col >= 0) currentOnCellClick(row, col)
+                        }
+                    }
+            ) {
+                val cells = board()
+                val metrics = BoardMetrics(size.width, density)
+                drawBoxes(metrics, colors)
+                for (row in 0 until 9) {
+                    for (col in 0 until 9) {
+                        drawCell(cells[row, col], metrics.cellStart(col), metrics.cellStart(row), metrics, colors, digits)
+                    }
+                }
+            }
+            CellSemanticsLayer(board, onCellClick)
+        }
+    }
+}
+
+// Invisible nodes laid over the cells so TalkBack can read and pick each one. A move
+// recomposes this layer, but every cell whose state object is unchanged is skipped.
+@Composable
+private fun CellSemanticsLayer(board: () -> BoardUiState, onCellClick: (Int, Int) -> Unit) {
+    val cells = board()
+    Layout(
+        content = {
+            for (row in 0 until 9) {
+                for (col in 0 until 9) {
+                    CellSemantics(cells[row, col], row, col, onCellClick)
+                }
+            }
+        }
+    ) { measurables, constraints ->
+        val metrics = BoardMetrics(constraints.maxWidth.toFloat(), density)
+        val cellSize = metrics.cellSize.roundToInt()
+        val placeables = measurables.map { it.measure(Constraints.fixed(cellSize, cellSize)) }
+        layout(constraints.maxWidth, constraints.maxWidth) {
+            placeables.forEachIndexed { index, placeable ->
+                placeable.place(metrics.cellStart(index % 9).roundToInt(), metrics.cellStart(index / 9).roundToInt())
+            }
+        }
+    }
+    // After the cells, so their counts are in
+    ReportRecompositions("Board")
+}
+
+@Composable
+private fun CellSemantics(cell: CellUiState, row: Int, col: Int, onCellClick: (Int, Int) -> Unit) {
+    TrackRecompositions(RecompositionCounter.SUDOKU_CELL)
+    Spacer(
+        modifier = Modifier.semantics {
+            contentDescription = describeCell(cell, row, col)
+            selected = cell.isSelected
+            role = Role.Button
+            onClick {
+                onCellClick(row, col)
+                true
+            }
+        }
+    )
+}
+
+// For example "Row 3, column 5, 7, wrong" or "Row 1, column 2, empty, notes 1 4"
+private fun describeCell(cell: CellUiState, row: Int, col: Int): String = buildString {
+    append("Row ").append(row + 1).append(", column ").append(col + 1).append(", ")
+    val value = cell.value
+    when {
+        value != null -> {
+            append(value)
+            if (cell.isOriginal) append(", given")
+        }
+        cell.hintValue != null -> append("hint ").append(cell.hintValue)
+        else -> append("empty")
+    }
+    if (cell.hasError) append(", wrong")
+    if (value == null && cell.notesMask != 0) {
+        append(", notes")
+        for (digit in 1..9) {
+            if (cell.notesMask and (1 shl (digit - 1)) != 0) append(' ').append(digit)
+        }
+    }
+}
+
+@Immutable
+private class BoardColors(
+    val box: Color,
+    val boxBorder: Color,
+    val cell: Color,
+    val selectedCell: Color,
+    val errorCell: Color,
+    val hintCell: Color,
+    val selectedBorder: Color,
+    val errorBorder: Color,
+    val originalDigit: Color,
+    val userDigit: Color,
+    val selectedDigit: Color,
+    val errorDigit: Color,
+    val hintDigit: Color,
+    val note: Color
+)
+
+// Positions along one axis (rows and columns use the same numbers): three boxes separated
+// by BOX_GAP, each with BOX_PADDING inside and three cells separated by CELL_GAP
+private class BoardMetrics(extent: Float, density: Float) {
+    val boxGap = BOX_GAP_DP * density
+    val boxPadding = BOX_PADDING_DP * density
+    val cellGap = CELL_GAP_DP * density
+    val boxSize = (extent - 2 * boxGap) / 3
+    val cellSize = (boxSize - 2 * boxPadding - 2 * cellGap) / 3
+    val boxCorner = CornerRadius(BOX_CORNER_DP * density)
+    val cellCorner = CornerRadius(CELL_CORNER_DP * density)
+    val borderWidth = BORDER_DP * density
+
+    fun boxStart(box: Int): Float = box * (boxSize + boxGap)
+
+    fun cellStart(index: Int): Float = boxStart(index / 3) + boxPadding + (index % 3) * (cellSize + cellGap)
+
+    // Cell index under a coordinate, or -1 for a gap between boxes
+    fun cellAt(position: Float): Int {
+        val box = (position / (boxSize + boxGap)).toInt()
+        if (box !in 0..2) return -1
+        val inBox = position - boxStart(box)
+        if (inBox > boxSize) return -1
+        val inner = ((inBox - boxPadding) / (cellSize + cellGap)).toInt().coerceIn(0, 2)
+        return box * 3 + inner
+    }
+
+    private companion object {
+        const val BOX_GAP_DP = 6f
+        const val BOX_PADDING_DP = 4f
+        const val CELL_GAP_DP = 2f
+        const val BOX_CORNER_DP = 12f
+        const val CELL_CORNER_DP = 8f
+        const val BORDER_DP = 2f
+    }
+}
+
+// Text layouts for digits 1-9, measured once per text measurer. Colour is applied at
+// draw time, so one layout per weight covers every cell state.
+private class DigitLayouts(
+    val original: Array<TextLayoutResult>,
+    val user: Array<TextLayoutResult>,
+    val hint: Array<TextLayoutResult>,
+    val note: Array<TextLayoutResult>
+) {
+    companion object {
+        fun measure(textMeasurer: TextMeasurer): DigitLayouts {
+            fun layouts(style: TextStyle) = Array(9) { textMeasurer.measure((it + 1).toString(), style) }
+            return DigitLayouts(
+                original = layouts(TextStyle(fontSize = 16.sp, fontWeight = FontWeight.Bold)),
+                user = layouts(TextStyle(fontSize = 16.sp, fontWeight = FontWeight.SemiBold)),
+                hint = layouts(TextStyle(fontSize = 16.sp, fontWeight = FontWeight.Medium)),
+                note = layouts(TextStyle(fontSize = 7.sp, lineHeight = 7.sp))
+            )
+        }
+    }
+}
+
+private fun DrawScope.drawBoxes(metrics: BoardMetrics, colors: BoardColors) {
+    val boxSize = Size(metrics.boxSize, metrics.boxSize)
+    for (boxRow in 0 until 3) {
+        for (boxCol in 0 until 3) {
+            val topLeft = Offset(metrics.boxStart(boxCol), metrics.boxStart(boxRow))
+            drawRoundRect(colors.box, topLeft, boxSize, metrics.boxCorner)
+            drawRoundRect(colors.boxBorder, topLeft, boxSize, metrics.boxCorner, style = Stroke(metrics.borderWidth))
+        }
+    }
+}
+
+private fun DrawScope.drawCell(
+    cell: CellUiState,
+    x: Float,
+    y: Float,
+    metrics: BoardMetrics,
+    colors: BoardColors,
+    digits: DigitLayouts
+) {
+    val topLeft = Offset(x, y)
+    val cellSize = Size(metrics.cellSize, metrics.cellSize)
+    val background = when {
+        cell.hasError -> colors.errorCell
+        cell.isSelected -> colors.selectedCell
+        cell.isHint -> colors.hintCell
+        else -> colors.cell
+    }
+    drawRoundRect(background, topLeft, cellSize, metrics.cellCorner)
+
+    val border = when {
+        cell.isSelected -> colors.selectedBorder
+        cell.hasError -> colors.errorBorder
+        else -> null
+    }
+    if (border != null) {
+        val inset = metrics.borderWidth / 2
+        drawRoundRect(
+            border,
+            Offset(x + inset, y + inset),
+            Size(metrics.cellSize - metrics.borderWidth, metrics.cellSize - metrics.borderWidth),
+            metrics.cellCorner,
+            style = Stroke(metrics.borderWidth)
+        )
+    }
+
+    val hintValue = cell.hintValue
+    val value = cell.value
+    when {
+        hintValue != null && hintValue in 1..9 -> {
+            drawCentered(digits.hint[hintValue - 1], x, y, metrics.cellSize, metrics.cellSize, colors.hintDigit)
+        }
+        value != null -> {
+            val layouts = if (cell.isOriginal) digits.original else digits.user
+            val color = when {
+                cell.hasError -> colors.errorDigit
+                cell.isOriginal -> colors.originalDigit
+                cell.isSelected -> colors.selectedDigit
+                else -> colors.userDigit
+            }
+            drawCentered(layouts[value - 1], x, y, metrics.cellSize, metrics.cellSize, color)
+        }
+        cell.notesMask != 0 -> {
+            // Pencil marks as a 3x3 keypad: 1-3 top row, 7-9 bottom row
+            val slot = metrics.cellSize / 3
+            for (digit in 1..9) {
+                if (cell.notesMask and (1 shl (digit - 1)) == 0) continue
+                val slotX = x + ((digit - 1) % 3) * slot
+                val slotY = y + ((digit - 1) / 3) * slot
+                drawCentered(digits.note[digit - 1], slotX, slotY, slot, slot, colors.note)
+            }
+        }
+    }
+}
+
+private fun DrawScope.drawCentered(
+    layout: TextLayoutResult,
+    x: Float,
+    y: Float,
+    width: Float,
+    height: Float,
+    color: Color
+) {
+    val topLeft = Offset(
+        x + (width - layout.size.width) / 2,
+        y + (height - layout.size.height) / 2
+    )
+    drawText(layout, color = color, topLeft = topLeft)
+}
@@ -0,0 +1,101 @@
+package com.sudokumaster.android.presentation.viewmodel
+
+import com.sudokumaster.android.domain.model.StoredGameRecord
+import com.sudokumaster.android.domain.repository.SudokuRepository
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withTimeoutOrNull
+
+// Keeps the game being played saved in its local progress row, so process death or a
+// crash loses at most one save window. Records are coalesced over `windowMs`: however
+// many moves arrive, only the latest is written, in one DAO call per window. Each game
+// is one `session`: its first write inserts a row and later ones update only the columns
+// that changed. Records that carry a row id (a resumed game) update that row instead of
+// inserting one. Sessions, not puzzle ids, tell games apart, since the server may serve
+// the same puzzle again and a new game must never overwrite the finished one.
+// save() may be called from any thread; writes run on `dispatcher`.
+class GameAutosaver(
+    private val repository: SudokuRepository,
+    private val currentUserId: suspend () -> Int?,
+    scope: CoroutineScope,
+    dispatcher: CoroutineDispatcher,
+    private val windowMs: Long = DEFAULT_WINDOW_MS
+) {
+
+    private class Pending(val record: StoredGameRecord, val session: Int, val immediately: Boolean)
+
+    // Only the newest record matters, so the channel keeps just one
+    private val pending = Channel<Pending>(Channel.CONFLATED)
+
+    // The last record written, its session and its row; touched only by the writer coroutine
+    private var lastWritten: StoredGameRecord? = null
+    private var lastSession = 0
+    private var progressId = 0L
+
+    init {
+        scope.launch(dispatcher) {
+            for (first in pending) {
+                var latest = first
+                if (!latest.immediately) {
+                    // Wait out the window, cut short by a record that must be saved now
+                    withTimeoutOrNull(windowMs) {
+                        while (!latest.immediately) {
+                            latest = pending.receiveCatching().getOrNull() ?: return@withTimeoutOrNull
+                        }
+                    }
+                }
+                write(latest.record, latest.session)
+            }
+        }
+    }
+
+    // Saves `record` of game `session` within the window, or as soon as possible when
+    // `immediately`
+    fun save(record: StoredGameRecord, session: Int, immediately: Boolean = false) {
+        pending.trySend(Pending(record, session, immediately))
+    }
+
+    private suspend fun write(record: StoredGameRecord, session: Int) {
+        // The previous write, if it was for the same game
+        val last = lastWritten?.takeIf { lastSession == session }
+        try {
+            when {
+                last == null && record.id == 0L -> {
+                    progressId = repository.saveLocalProgress(record.copy(userId = currentUserId()))
+                }
+                last == null -> {
+                    progressId = record.id
+                    updateBoard(record)
+                }
+                last.currentGrid != record.currentGrid || last.notes != record.notes ||
+                    last.isCompleted != record.isCompleted -> updateBoard(record)
+                last.timeSpentSeconds != record.timeSpentSeconds -> {
+                    repository.updateLocalProgressTime(progressId, record.timeSpentSeconds)
+                }
+                else -> return
+            }
+            lastWritten = record
+            lastSession = session
+            println("💾 Autosaved puzzle ${record.puzzleId} (${record.timeSpentSeconds}s, completed: ${record.isCompleted})")
+        } catch (error: Exception) {
+            // The next save retries with the whole difference
+            println("⚠️ Autosave failed: ${error.message}")
+        }
+    }
+
+    private suspend fun updateBoard(record: StoredGameRecord) {
+        repository.updateLocalProgress(
+            progressId = progressId,
+            currentGrid = record.currentGrid,
+            notes = record.notes,
+            isCompleted = record.isCompleted,
+            timeSpentSeconds = record.timeSpentSeconds
+        )
+    }
+
+    companion object {
+        const val DEFAULT_WINDOW_MS = 2_000L
+    }
+}
@@ -0,0 +1,125 @@
+package com.sudokumaster.android.presentation.viewmodel
+
+import androidx.compose.runtime.Immutable
+import com.sudokumaster.android.domain.model.CellPosition
+import com.sudokumaster.android.domain.model.StoredGameRecord
+import com.sudokumaster.android.domain.model.SudokuPuzzle
+import com.sudokumaster.engine.model.CellSet
+import com.sudokumaster.engine.model.PencilMarks
+import com.sudokumaster.engine.model.SudokuGrid
+
+// Everything the game screen shows about the board, emitted as one immutable snapshot
+// so the grid, its errors, notes and victory flags always belong to the same move.
+// `board` is the per-cell view of the same data that the board composables read.
+// `errors` is what the board marks: every cell in a row, column or box clash plus the
+// `mistakes`, the entries judged wrong against the solution or by the server.
+@Immutable
+data class GameUiState(
+    val grid: SudokuGrid = SudokuGrid.EMPTY,
+    val originalGrid: SudokuGrid = SudokuGrid.EMPTY,
+    val puzzleId: Int? = null,
+    val selectedCell: CellPosition? = null,
+    val errors: CellSet = CellSet.EMPTY,
+    val mistakes: CellSet = CellSet.EMPTY,
+    val notes: PencilMarks = PencilMarks.EMPTY,
+    val isNotesMode: Boolean = false,
+    val hintCell: Triple<Int, Int, Int>? = null,
+    val canUndo: Boolean = false,
+    val canRedo: Boolean = false,
+    val isLoading: Boolean = false,
+    val isVictory: Boolean = false,
+    val showVictoryAlert: Boolean = false,
+    val errorMessage: String? = null,
+    val board: BoardUiState = BoardUiState.EMPTY
+)
+
+// What one cell shows. Instances are reused while the cell is unchanged, so Compose can
+// skip every cell whose state object is the same as last time.
+@Immutable
+data class CellUiState(
+    val value: Int?,
+    val isOriginal: Boolean,
+    val isSelected: Boolean,
+    val hasError: Boolean,
+    val hintValue: Int?,
+    val notesMask: Int
+) {
+    val isHint: Boolean
+        get() = hintValue != null
+}
+
+// The 81 cell states in row-major order
+@Immutable
+class BoardUiState private constructor(private val cells: Array<CellUiState>) {
+
+    operator fun get(row: Int, col: Int): CellUiState = cells[row * 9 + col]
+
+    // Board for `state`: cells that did not change keep their previous instance, and the
+    // board itself is returned as is when no cell changed
+    fun updatedFor(state: GameUiState): BoardUiState {
+        var updated: Array<CellUiState>? = null
+        val hint = state.hintCell
+        for (cell in 0 until SudokuGrid.CELL_COUNT) {
+            val row = cell / 9
+            val col = cell % 9
+            val value = state.grid[row, col]
+            val isOriginal = state.originalGrid.valueAt(cell) != 0
+            val isSelected = state.selectedCell?.row == row && state.selectedCell.col == col
+            val hasError = cell in state.errors
+            val hintValue = if (hint != null && hint.first == row && hint.second == col) hint.third else null
+            val notesMask = state.notes.maskAt(cell)
+
+            // Compared field by field so unchanged cells cost no allocation
+            val current = cells[cell]
+            if (current.value == value && current.isOriginal == isOriginal && current.isSelected == isSelected &&
+                current.hasError == hasError && current.hintValue == hintValue && current.notesMask == notesMask
+            ) continue
+            if (updated == null) updated = cells.copyOf()
+            updated[cell] = CellUiState(value, isOriginal, isSelected, hasError, hintValue, notesMask)
+        }
+        return if (updated == null) this else BoardUiState(updated)
+    }
+
+    companion object {
+        private val EMPTY_CELL = CellUiState(null, false, false, false, null, 0)
+
+        val EMPTY = BoardUiState(Array(SudokuGrid.CELL_COUNT) { EMPTY_CELL })
+    }
+}
+
+// Inputs to the game state machine. Player actions come from the UI; the rest are
+// results of background work (loading, network checks, solving) posted back to it.
+sealed interface GameIntent {
+    data class SelectCell(val position: CellPosition?) : GameIntent
+    data class ToggleCellSelection(val position: CellPosition) : GameIntent
+    data class EnterNumber(val number: Int) : GameIntent
+    data object EraseNumber : GameIntent
+    data object ToggleNotesMode : GameIntent
+    data object Undo : GameIntent
+    data object Redo : GameIntent
+    data object RequestHint : GameIntent
+    data object AutoSolve : GameIntent
+    data object ClearUserInputs : GameIntent
+    data object CloseVictoryModal : GameIntent
+
+    data object LoadStarted : GameIntent
+    data class PuzzleLoaded(val puzzle: SudokuPuzzle, val solution: SudokuGrid?) : GameIntent
+    data class GameResumed(val record: StoredGameRecord) : GameIntent
+    data class Failed(val message: String) : GameIntent
+
+    // Results carry the board generation they were computed for; results for a board that
+    // has since been replaced are dropped. `boardHash` identifies the checked position.
+    data class ValidationResult(
+        val generation: Int,
+        val cell: Int,
+        val value: Int,
+        val boardHash: Long,
+        val isValid: Boolean
+    ) : GameIntent
+    data class HintReady(val generation: Int, val row: Int, val col: Int, val value: Int) : GameIntent
+    data class HintExpired(val hint: Triple<Int, Int, Int>) : GameIntent
+    data class BoardSolved(val generation: Int, val solution: SudokuGrid) : GameIntent
+
+    // Solution of `puzzle`, worked out after the game was resumed without one
+    data class SolutionReady(val puzzle: SudokuGrid, val solution: SudokuGrid) : GameIntent
+}
@@ -5,10 +5,22 @@ import androidx.lifecycle.viewModelScope
 import com.sudokumaster.android.domain.repository.SudokuRepository
 import com.sudokumaster.android.domain.repository.AuthRepository
 import com.sudokumaster.android.domain.model.*
+import com.sudokumaster.android.domain.generator.generatePuzzle
+import com.sudokumaster.android.domain.solver.SolverSelector
+import com.sudokumaster.engine.generator.PuzzleGenerator
+import com.sudokumaster.engine.model.CellSet
+import com.sudokumaster.engine.model.PencilMarks
+import com.sudokumaster.engine.model.SudokuGrid
+import com.sudokumaster.engine.history.MoveJournal
+import com.sudokumaster.engine.validation.CandidateState
+import com.sudokumaster.engine.validation.ValidationCache
+import com.sudokumaster.engine.validation.ZobristHash
+import com.sudokumaster.android.utils.GameClock
 import com.sudokumaster.android.utils.NetworkMonitor
 import com.sudokumaster.android.utils.PerformanceMonitor
 import dagger.hilt.android.lifecycle.HiltViewModel
 import kotlinx.coroutines.*
+import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.flow.*
 import javax.inject.Inject
 
@@ -17,58 +29,74 @@ class SudokuGameViewModel @Inject constructor(
     private val sudokuRepository: SudokuRepository,
     private val authRepository: AuthRepository,
     private val networkMonitor: NetworkMonitor,
-    private val performanceMonitor: PerformanceMonitor
+    private val performanceMonitor: PerformanceMonitor,
+    private val solverSelector: SolverSelector,
+    private val puzzleGenerator: PuzzleGenerator
 ) : ViewModel() {
 
-    // Game state
-    private val _grid = MutableStateFlow(createEmptyGrid())
-    val grid = _grid.asStateFlow()
-
-    private val _originalGrid = MutableStateFlow(createEmptyGrid())
-    val originalGrid = _originalGrid.asStateFlow()
-
-    private val _selectedCell = MutableStateFlow<CellPosition?>(null)
-    val selectedCell = _selectedCell.asStateFlow()
+    // Board state, written only by the game actor
+    private val _uiState = MutableStateFlow(GameUiState())
+    val uiState = _uiState.asStateFlow()
 
     private val _difficulty = MutableStateFlow(SudokuDifficulty.EASY)
     val difficulty = _difficulty.asStateFlow()
 
-    private val _errors = MutableStateFlow<Map<CellPosition, Boolean>>(emptyMap())
-    val errors = _errors.asStateFlow()
+    // Play time of the current game. It changes every second, so it is kept out of
+    // GameUiState, and it only ticks while the screen collects it.
+    private val gameClock = GameClock()
+    val timeSpentSeconds = gameClock.seconds
+        .stateIn(viewModelScope, SharingStarted.WhileSubscribed(5_000), 0)
 
-    private val _hintCell = MutableStateFlow<Triple<Int, Int, Int>?>(null)
-    val hintCell = _hintCell.asStateFlow()
+    // Offline mode
+    private val _isOfflineMode = MutableStateFlow(false)
+    val isOfflineMode = _isOfflineMode.asStateFlow()
 
-    // Game status
-    private val _isLoading = MutableStateFlow(false)
-    val isLoading = _isLoading.asStateFlow()
+    // Every change to the board goes through this channel and is applied, one intent at a
+    // time, by the actor started in init. The fields below belong to the actor.
+    private val intents = Channel<GameIntent>(Channel.UNLIMITED)
 
-    private val _isVictory = MutableStateFlow(false)
-    val isVictory = _isVictory.asStateFlow()
+    // Verified solution of the current puzzle; hints, wrong-value checks and auto-solve
+    // are answered from it without a network round trip. Null only for unsolvable puzzles.
+    private var puzzleSolution: SudokuGrid? = null
 
-    private val _showVictoryAlert = MutableStateFlow(false)
-    val showVictoryAlert = _showVictoryAlert.asStateFlow()
+    // Bumped whenever the whole board is replaced, so late background results are dropped
+    private var boardGeneration = 0
 
-    private val _errorMessage = MutableStateFlow<String?>(null)
-    val errorMessage = _errorMessage.asStateFlow()
+    // Candidates and per-unit digit counts, kept in sync with the grid on every move
+    private val candidateState = CandidateState()
 
-    private val _timeSpentSeconds = MutableStateFlow(0)
-    val timeSpentSeconds = _timeSpentSeconds.asStateFlow()
+    // Local progress row of a resumed game, so autosave keeps updating it; 0 for new games
+    private var progressRowId = 0L
 
-    private val _puzzleId = MutableStateFlow<Int?>(null)
-    val puzzleId = _puzzleId.asStateFlow()
+    // Bumped for every game started or resumed, so autosave never writes one game's moves
+    // into another's row, even when both are the same puzzle
+    private var gameSession = 0
 
-    // Offline mode
-    private val _isOfflineMode = MutableStateFlow(false)
-    val isOfflineMode = _isOfflineMode.asStateFlow()
+    // Undo/redo history of the player's edits since the board was last loaded
+    private val moveJournal = MoveJournal()
 
-    // Performance optimizations
-    private var timerJob: Job? = null
-    private val validationDebouncer = MutableSharedFlow<Triple<Int, Int, Int>>()
-    
-    // Cache for validation results
-    private val validationCache = mutableMapOf<String, Boolean>()
+    // Zobrist hash of the grid, keying the validation cache. Moves are checked against the
+    // solution whenever it is known, so the hash is only kept up to date while it is not.
+    private val zobristHash = ZobristHash()
+    private var boardHash = 0L
+
+    // LRU cache for validation results
     private val maxCacheSize = 100
+    private val validationCache = ValidationCache(maxCacheSize)
+
+    // Pending network validation per cell; a newer value for the cell cancels the older check
+    private val validationJobs = arrayOfNulls<Job>(SudokuGrid.CELL_COUNT)
+    private val validationDelayMs = 200L
+
+    // Performance optimizations
+    private var loadJob: Job? = null
+
+    // Base puzzles to keep per difficulty for offline play
+    private val offlinePoolSize = 3
+
+    // Downloads in a row that may end up under another difficulty (or not be stored at
+    // all) before a top-up gives up until the next game
+    private val maxTopUpMisses = 3
 
     // Ad integration tracking
     private var gamesCompleted = 0
@@ -77,9 +105,19 @@ class SudokuGameViewModel @Inject constructor(
     // Background dispatcher for heavy operations
     private val backgroundDispatcher = Dispatchers.IO.limitedParallelism(3)
 
+    // Saves the game in progress locally, coalescing moves into one write per window
+    private val autosaver = GameAutosaver(
+        repository = sudokuRepository,
+        currentUserId = { authRepository.getCurrentUser()?.id },
+        scope = viewModelScope,
+        dispatcher = backgroundDispatcher
+    )
+
     init {
-        setupValidationDebouncer()
-        loadTestPuzzle()
+        viewModelScope.launch {
+            for (intent in intents) handle(intent)
+        }
+        resumeOrLoadPuzzle()
         
         // Monitor network connectivity
         viewModelScope.launch {
@@ -91,26 +129,17 @@ class SudokuGameViewModel @Inject constructor(
         }
     }
 
-    private fun createEmptyGrid(): SudokuGrid {
-        return Array(9) { Array(9) { null } }
-    }
-
-    private fun setupValidationDebouncer() {
-        viewModelScope.launch {
-            validationDebouncer
-                .debounce(200)
-                .collect { (row, col, value) ->
-                    performValidation(row, col, value)
-                }
-        }
+    private fun dispatch(intent: GameIntent) {
+        intents.trySend(intent)
     }
 
     fun newGame() {
         println("🎯 Starting new game with difficulty: ${_difficulty.value}, offline mode: ${_isOfflineMode.value}")
-        _isLoading.value = true
-        _errorMessage.value = null
+        dispatch(GameIntent.LoadStarted)
 
-        viewModelScope.launch {
+        // Only the latest request may deliver a puzzle
+        loadJob?.cancel()
+        loadJob = viewModelScope.launch {
             try {
                 if (_isOfflineMode.value) {
                     println("🎯 Using offline mode")
@@ -118,26 +147,36 @@ class SudokuGameViewModel @Inject constructor(
                 } else {
                     println("🎯 Using online mode - calling API")
                     val puzzle = sudokuRepository.generatePuzzle(_difficulty.value)
-                    updateGameState(puzzle)
+                    startSession(puzzle)
+                    println("🎯 Successfully loaded API puzzle with ${puzzle.grid.filledCount} filled cells")
                     
                     // Background download of additional puzzles
                     launch(backgroundDispatcher) {
                         downloadAdditionalPuzzlesInBackground()
                     }
                 }
+            } catch (error: CancellationException) {
+                throw error
             } catch (error: Exception) {
                 handleGameLoadError(error)
             }
         }
     }
 
-    private suspend fun updateGameState(puzzle: SudokuPuzzle) {
-        _grid.value = puzzle.grid
-        _originalGrid.value = puzzle.grid
-        _puzzleId.value = puzzle.id
-        resetGameState()
-        _isLoading.value = false
-        println("🎯 Successfully loaded API puzzle with ${puzzle.grid.sumOf { row -> row.count { it != null } }} filled cells")
+    private suspend fun startSession(puzzle: SudokuPuzzle) {
+        val verifiedSolution = resolveSolution(puzzle)
+        dispatch(GameIntent.PuzzleLoaded(puzzle, verifiedSolution))
+    }
+
+    // Uses the solution shipped with the puzzle when it checks out; otherwise solves the
+    // givens once locally so the rest of the session never needs the solve endpoint
+    private suspend fun resolveSolution(puzzle: SudokuPuzzle): SudokuGrid? {
+        // Gson can leave the field null when the API omits it, despite the Kotlin type
+        val provided: SudokuGrid? = puzzle.solution
+        if (provided != null && provided.isSolutionOf(puzzle.grid)) return provided
+        
+        println("🧩 Puzzle ${puzzle.id} has no usable solution, solving it locally")
+        return solveGridLocally(puzzle.grid)
     }
 
     private suspend fun handleGameLoadError(error: Exception) {
@@ -146,12 +185,10 @@ class SudokuGameViewModel @Inject constructor(
         if (!_isOfflineMode.value) {
             println("🎯 API failed - switching to offline mode as fallback")
             _isOfflineMode.value = true
-            _errorMessage.value = null
             loadOfflinePuzzle()
         } else {
             println("🎯 Both online and offline attempts failed")
-            _errorMessage.value = "Unable to load puzzle. Please try again."
-            _isLoading.value = false
+            dispatch(GameIntent.Failed("Unable to load puzzle. Please try again."))
         }
     }
 
@@ -159,12 +196,8 @@ class SudokuGameViewModel @Inject constructor(
         val puzzle = sudokuRepository.getOfflinePuzzle(_difficulty.value)
         
         if (puzzle != null) {
-            _grid.value = puzzle.grid
-            _originalGrid.value = puzzle.grid
-            _puzzleId.value = puzzle.id
-            resetGameState()
-            _isLoading.value = false
-            println("✅ Successfully loaded offline puzzle with ${puzzle.grid.sumOf { row -> row.count { it != null } }} filled cells")
+            startSession(puzzle)
+            println("✅ Successfully loaded offline puzzle with ${puzzle.grid.filledCount} filled cells")
         } else {
             // Try to download a puzzle for this difficulty if network is available
             tryDownloadPuzzleForCurrentDifficulty()
@@ -183,14 +216,11 @@ class SudokuGameViewModel @Inject constructor(
                 sudokuRepository.saveOfflinePuzzle(puzzle)
                 
                 // Use the downloaded puzzle immediately
-                _grid.value = puzzle.grid
-                _originalGrid.value = puzzle.grid
-                _puzzleId.value = puzzle.id
-                resetGameState()
-                _isLoading.value = false
-                _errorMessage.value = null
+                startSession(puzzle)
                 println("✅ Downloaded and loaded puzzle for ${_difficulty.value.displayName}")
                 
+            } catch (error: CancellationException) {
+                throw error
             } catch (error: Exception) {
                 println("⚠️ Failed to download puzzle: ${error.message}")
                 loadFallbackPuzzle()
@@ -204,502 +234,538 @@ class SudokuGameViewModel @Inject constructor(
     private suspend fun downloadAdditionalPuzzlesInBackground() {
         if (!networkMonitor.isConnected.value) return
         
-        println("📥 Background download: Adding puzzles for ${_difficulty.value.displayName} difficulty")
+        // Every stored puzzle is served as a fresh symmetric variant offline, so a few
+        // base puzzles per difficulty are enough; only top the pool up when it runs low
+        val difficulty = _difficulty.value
+        val missing = offlinePoolSize - sudokuRepository.getOfflinePuzzleCount(difficulty)
+        if (missing <= 0) return
+        
+        println("📥 Background download: Adding $missing puzzles for ${difficulty.displayName} difficulty")
         
-        // Download 2-3 additional puzzles for current difficulty
-        repeat(3) { i ->
+        // The repository files puzzles under the difficulty they grade as, so only those
+        // stored under the requested one fill the gap
+        var added = 0
+        var misses = 0
+        while (added < missing && misses < maxTopUpMisses) {
             try {
-                val puzzle = sudokuRepository.generatePuzzle(_difficulty.value)
-                sudokuRepository.saveOfflinePuzzle(puzzle)
-                println("📥 Downloaded additional puzzle ${i + 1}/3 for ${_difficulty.value.displayName}")
+                val puzzle = sudokuRepository.generatePuzzle(difficulty)
+                val storedAs = sudokuRepository.saveOfflinePuzzle(puzzle)
+                if (storedAs == difficulty) {
+                    added++
+                    misses = 0
+                    println("📥 Downloaded additional puzzle $added/$missing for ${difficulty.displayName}")
+                } else {
+                    misses++
+                }
+            } catch (error: CancellationException) {
+                throw error
             } catch (error: Exception) {
-                println("⚠️ Failed to download additional puzzle ${i + 1}: $error")
-                return@repeat
+                println("⚠️ Failed to download additional puzzle ${added + 1}: $error")
+                break
             }
         }
-        println("✅ Added additional puzzles to offline storage for ${_difficulty.value.displayName}")
+        println("✅ Added $added/$missing additional puzzles to offline storage for ${difficulty.displayName}")
     }
 
     private suspend fun loadFallbackPuzzle() {
-        println("Creating fallback puzzle for difficulty: ${_difficulty.value.displayName}")
+        println("Generating local puzzle for difficulty: ${_difficulty.value.displayName}")
         
         val fallbackPuzzle = withContext(backgroundDispatcher) {
-            createFallbackPuzzle(_difficulty.value)
+            puzzleGenerator.generatePuzzle(_difficulty.value)
         }
         
-        _grid.value = fallbackPuzzle.grid
-        _originalGrid.value = fallbackPuzzle.grid
-        _puzzleId.value = fallbackPuzzle.id
-        resetGameState()
-        _isLoading.value = false
-        _errorMessage.value = null
-        println("✅ Created fallback puzzle with ${fallbackPuzzle.grid.sumOf { row -> row.count { it != null } }} filled cells")
+        startSession(fallbackPuzzle)
+        println("✅ Generated local puzzle with ${fallbackPuzzle.grid.filledCount} filled cells")
     }
 
     fun setSelectedCell(position: CellPosition?) {
-        _selectedCell.value = position
+        dispatch(GameIntent.SelectCell(position))
     }
 
+    // Selects the cell, or clears the selection when the cell is already selected
+    fun toggleCellSelection(row: Int, col: Int) = dispatch(GameIntent.ToggleCellSelection(CellPosition(row, col)))
+
     fun setDifficulty(difficulty: SudokuDifficulty) {
         println("🎯 Setting difficulty to: ${difficulty.value}")
         _difficulty.value = difficulty
-        _errorMessage.value = null
         newGame()
     }
 
-    fun enterNumber(number: Int) {
-        val selectedPos = _selectedCell.value ?: return
+    fun enterNumber(number: Int) = dispatch(GameIntent.EnterNumber(number))
+
+    fun eraseNumber() = dispatch(GameIntent.EraseNumber)
+
+    fun toggleNotesMode() = dispatch(GameIntent.ToggleNotesMode)
+
+    fun undo() = dispatch(GameIntent.Undo)
+
+    fun redo() = dispatch(GameIntent.Redo)
+
+    fun getHint() = dispatch(GameIntent.RequestHint)
+
+    fun autoSolve() = dispatch(GameIntent.AutoSolve)
+
+    fun clearUserInputs() = dispatch(GameIntent.ClearUserInputs)
+
+    fun closeVictoryModal() = dispatch(GameIntent.CloseVictoryModal)
+
+    // The reducer. Runs on the actor only: computes the next state from the current one,
+    // updates the actor-owned helpers and emits a single new GameUiState per intent.
+    private fun handle(intent: GameIntent) {
+        val state = _uiState.value
+        val next = when (intent) {
+            is GameIntent.SelectCell -> state.copy(selectedCell = intent.position)
+            is GameIntent.ToggleCellSelection -> {
+                state.copy(selectedCell = if (state.selectedCell == intent.position) null else intent.position)
+            }
+            is GameIntent.EnterNumber -> placeNumber(state, intent.number)
+            GameIntent.EraseNumber -> eraseCell(state)
+            GameIntent.ToggleNotesMode -> state.copy(isNotesMode = !state.isNotesMode)
+            GameIntent.Undo -> undoMove(state)
+            GameIntent.Redo -> redoMove(state)
+            GameIntent.RequestHint -> requestHint(state)
+            GameIntent.AutoSolve -> solveBoard(state)
+            GameIntent.ClearUserInputs -> loadBoard(state, state.originalGrid)
+            GameIntent.CloseVictoryModal -> dismissVictory(state)
+            GameIntent.LoadStarted -> state.copy(isLoading = true, errorMessage = null)
+            is GameIntent.PuzzleLoaded -> startGame(intent.puzzle, intent.solution)
+            is GameIntent.GameResumed -> resumeGame(intent.record)
+            is GameIntent.SolutionReady -> applySolution(state, intent.puzzle, intent.solution)
+            is GameIntent.Failed -> state.copy(isLoading = false, errorMessage = intent.message)
+            is GameIntent.ValidationResult -> applyValidationResult(state, intent)
+            is GameIntent.HintReady -> {
+                if (intent.generation != boardGeneration) state else showHint(state, intent.row, intent.col, intent.value)
+            }
+            is GameIntent.HintExpired -> if (state.hintCell == intent.hint) state.copy(hintCell = null) else state
+            is GameIntent.BoardSolved -> {
+                if (intent.generation != boardGeneration) state else solved(loadBoard(state, intent.solution))
+            }
+        }
+        // Conflicts are tracked by the candidate state as moves are applied
+        val errors = candidateState.conflicts + next.mistakes
+        val marked = if (errors == next.errors) next else next.copy(errors = errors)
+        val board = marked.board.updatedFor(marked)
+        _uiState.value = if (board === marked.board) marked else marked.copy(board = board)
+
+        // Every edit of a game in progress is saved within the autosave window; a freshly
+        // loaded puzzle has nothing worth saving yet
+        val edited = next.grid !== state.grid || next.notes !== state.notes
+        val isLoad = intent is GameIntent.PuzzleLoaded || intent is GameIntent.GameResumed
+        if (edited && !next.isVictory && !isLoad) {
+            autosave(next, isCompleted = false)
+        }
+        if (isLoad) {
+            performanceMonitor.recordTimeToInteractive(if (intent is GameIntent.GameResumed) "resumed" else "new game")
+        }
+    }
+
+    private fun placeNumber(state: GameUiState, number: Int): GameUiState {
+        val selectedPos = state.selectedCell ?: return state
         
         // Don't allow changing original cells
-        if (_originalGrid.value[selectedPos.row][selectedPos.col] != null) {
+        if (state.originalGrid[selectedPos.row, selectedPos.col] != null) {
             println("Cannot modify original cell at (${selectedPos.row}, ${selectedPos.col})")
-            return
+            return state
         }
         
-        println("Entering number $number at position (${selectedPos.row}, ${selectedPos.col})")
+        val cell = selectedPos.row * 9 + selectedPos.col
+        if (state.isNotesMode) {
+            // Notes only apply to empty cells
+            if (state.grid.valueAt(cell) != 0) return state
+            val notes = state.notes.toggle(cell, number)
+            moveJournal.record(cell, 0, 0, state.notes, notes)
+            return withHistory(state.copy(notes = notes))
+        }
         
-        val newGrid = _grid.value.map { it.clone() }.toTypedArray()
-        newGrid[selectedPos.row][selectedPos.col] = number
-        _grid.value = newGrid
+        // Entering the digit the cell already holds changes nothing and is not a move
+        val previous = state.grid.valueAt(cell)
+        if (previous == number) return state
         
-        // Use debounced validation to improve performance
-        viewModelScope.launch {
-            validationDebouncer.emit(Triple(selectedPos.row, selectedPos.col, number))
-        }
+        println("Entering number $number at position (${selectedPos.row}, ${selectedPos.col})")
+        
+        // A fresh placement also clears the digit from the notes of the cell's peers; the
+        // journal keeps which notes went, so undo brings them back
+        val notes = state.notes.place(cell, number)
+        val moved = setCell(state, cell, number).copy(notes = notes)
+        moveJournal.record(cell, previous, number, state.notes, notes)
+        return validateCell(withHistory(moved), cell, number)
     }
 
-    fun eraseNumber() {
-        val selectedPos = _selectedCell.value ?: return
+    private fun eraseCell(state: GameUiState): GameUiState {
+        val selectedPos = state.selectedCell ?: return state
         
         // Don't allow erasing original cells
-        if (_originalGrid.value[selectedPos.row][selectedPos.col] != null) return
+        if (state.originalGrid[selectedPos.row, selectedPos.col] != null) return state
         
-        val newGrid = _grid.value.map { it.clone() }.toTypedArray()
-        newGrid[selectedPos.row][selectedPos.col] = null
-        _grid.value = newGrid
+        val cell = selectedPos.row * 9 + selectedPos.col
+        val previous = state.grid.valueAt(cell)
+        if (previous == 0) {
+            val notes = state.notes.clear(cell)
+            moveJournal.record(cell, 0, 0, state.notes, notes)
+            return withHistory(state.copy(notes = notes))
+        }
         
-        // Remove any error for this cell
-        val newErrors = _errors.value.toMutableMap()
-        newErrors.remove(selectedPos)
-        _errors.value = newErrors
+        val moved = setCell(state, cell, 0)
+        moveJournal.record(cell, previous, 0)
+        return validateCell(withHistory(moved), cell, 0)
     }
 
-    fun getHint() {
-        val selectedPos = _selectedCell.value ?: return
+    private fun undoMove(state: GameUiState): GameUiState {
+        val move = moveJournal.undo()
+        if (move == MoveJournal.NONE) return state
         
-        // Don't give hints for original cells or cells that already have a value
-        if (_originalGrid.value[selectedPos.row][selectedPos.col] != null || 
-            _grid.value[selectedPos.row][selectedPos.col] != null) return
+        val cell = MoveJournal.cellOf(move)
+        val value = MoveJournal.oldValueOf(move)
+        val notes = moveJournal.stepNotes(state.notes)
+        val moved = withHistory(setCell(state, cell, value).copy(notes = notes))
+        return validateCell(moved, cell, value)
+    }
+
+    private fun redoMove(state: GameUiState): GameUiState {
+        val move = moveJournal.redo()
+        if (move == MoveJournal.NONE) return state
         
-        viewModelScope.launch {
-            try {
-                val solution = if (_isOfflineMode.value) {
-                    solveGridLocally(_grid.value)
-                } else {
-                    sudokuRepository.solvePuzzle(_grid.value)
-                }
-                
-                if (solution.isNotEmpty()) {
-                    val hintValue = solution[selectedPos.row][selectedPos.col]
-                    _hintCell.value = Triple(selectedPos.row, selectedPos.col, hintValue ?: 0)
-                    
-                    // Clear the hint after 3 seconds
-                    delay(3000)
-                    _hintCell.value = null
-                }
-            } catch (error: Exception) {
-                _errorMessage.value = "Failed to generate hint: ${error.message}"
-            }
-        }
+        val cell = MoveJournal.cellOf(move)
+        val value = MoveJournal.newValueOf(move)
+        val notes = moveJournal.stepNotes(state.notes)
+        val moved = withHistory(setCell(state, cell, value).copy(notes = notes))
+        return validateCell(moved, cell, value)
     }
 
-    fun autoSolve() {
-        viewModelScope.launch {
-            try {
-                val solution = if (_isOfflineMode.value) {
-                    solveGridLocally(_grid.value)
-                } else {
-                    sudokuRepository.solvePuzzle(_grid.value)
-                }
-                
-                if (solution.isNotEmpty()) {
-                    _grid.value = solution
-                    checkVictoryWithoutAnimation()
-                } else {
-                    _errorMessage.value = "Puzzle cannot be solved from current state"
-                }
-            } catch (error: Exception) {
-                _errorMessage.value = "Failed to solve puzzle: ${error.message}"
-            }
-        }
+    private fun withHistory(state: GameUiState): GameUiState {
+        return state.copy(canUndo = moveJournal.canUndo, canRedo = moveJournal.canRedo)
+    }
+
+    // Changes one cell, keeping the candidate state and board hash in step. Nothing else is
+    // touched, so undo and redo replay exactly the recorded change.
+    private fun setCell(state: GameUiState, cell: Int, value: Int): GameUiState {
+        val previous = candidateState.set(cell, value)
+        if (puzzleSolution == null) boardHash = zobristHash.update(boardHash, cell, previous, value)
+        return state.copy(grid = state.grid.with(cell / 9, cell % 9, value))
     }
 
-    fun clearUserInputs() {
-        val newGrid = _originalGrid.value.map { it.clone() }.toTypedArray()
-        _grid.value = newGrid
-        _errors.value = emptyMap()
+    // Replaces the whole board; edits made before can no longer be undone and checks
+    // still running for the old board are abandoned
+    private fun loadBoard(state: GameUiState, grid: SudokuGrid): GameUiState {
+        boardGeneration++
+        validationJobs.forEachIndexed { cell, job ->
+            job?.cancel()
+            validationJobs[cell] = null
+        }
         validationCache.clear()
+        candidateState.load(grid)
+        boardHash = if (puzzleSolution == null) zobristHash.hash(grid) else 0L
+        moveJournal.clear()
+        return withHistory(state.copy(grid = grid, notes = PencilMarks.EMPTY, mistakes = CellSet.EMPTY))
+    }
+
+    private fun startGame(puzzle: SudokuPuzzle, solution: SudokuGrid?): GameUiState {
+        puzzleSolution = solution
+        progressRowId = 0L
+        gameSession++
+        val state = loadBoard(GameUiState(isNotesMode = _uiState.value.isNotesMode), puzzle.grid)
+        gameClock.start()
+        return state.copy(originalGrid = puzzle.grid, puzzleId = puzzle.id)
+    }
+
+    // Continues a saved game where it was left: board, notes and play time. Undo history
+    // starts empty. The solution follows in SolutionReady, which marks wrong entries again.
+    private fun resumeGame(record: StoredGameRecord): GameUiState {
+        puzzleSolution = null
+        progressRowId = record.id
+        gameSession++
+        val state = loadBoard(GameUiState(isNotesMode = _uiState.value.isNotesMode), record.currentGrid)
+        gameClock.start(record.timeSpentSeconds)
+        return state.copy(
+            originalGrid = record.originalGrid,
+            puzzleId = record.puzzleId,
+            notes = record.notes
+        )
     }
 
-    fun closeVictoryModal() {
-        _showVictoryAlert.value = false
-        gamesCompleted++
+    // Adopts the solution of a puzzle that started without one, unless another puzzle has
+    // been loaded since. From then on moves are checked against it, so pending checks are
+    // dropped and every entry is judged again.
+    private fun applySolution(state: GameUiState, puzzle: SudokuGrid, solution: SudokuGrid): GameUiState {
+        if (puzzleSolution != null || state.originalGrid != puzzle) return state
+        puzzleSolution = solution
+        validationJobs.forEachIndexed { cell, job ->
+            job?.cancel()
+            validationJobs[cell] = null
+        }
+        validationCache.clear()
         
-        // Show interstitial ad based on frequency
-        if (gamesCompleted >= adFrequency && gamesCompleted % adFrequency == 0) {
-            // TODO: Show interstitial ad
-            println("📺 Would show interstitial ad after $gamesCompleted games completed")
+        var mistakes = CellSet.EMPTY
+        for (cell in 0 until SudokuGrid.CELL_COUNT) {
+            val value = state.grid.valueAt(cell)
+            if (value != 0 && value != solution.valueAt(cell)) mistakes += cell
         }
+        return checkVictory(state.copy(mistakes = mistakes), showAlert = true)
     }
 
-    private fun resetGameState() {
-        _selectedCell.value = null
-        _errors.value = emptyMap()
-        validationCache.clear()
-        _hintCell.value = null
-        _isVictory.value = false
-        _showVictoryAlert.value = false
-        _errorMessage.value = null
-        _timeSpentSeconds.value = 0
-        startTimer()
-    }
-
-    private suspend fun performValidation(row: Int, col: Int, value: Int) {
-        val cacheKey = getCacheKey(_grid.value, row, col, value)
-        
-        // Check cache first
-        val cachedResult = validationCache[cacheKey]
-        if (cachedResult != null) {
-            updateValidationResult(row, col, cachedResult)
-            return
+    // Refreshes the error mark of a cell that now holds `value` (0 = empty)
+    private fun validateCell(state: GameUiState, cell: Int, value: Int): GameUiState {
+        validationJobs[cell]?.cancel()
+        validationJobs[cell] = null
+        if (value == 0) return state.copy(mistakes = state.mistakes - cell)
+        
+        // With a known solution the check is a single lookup, so answer it right away
+        val currentSolution = puzzleSolution
+        if (currentSolution != null) {
+            return withValidationResult(state, cell, currentSolution.valueAt(cell) == value)
         }
         
-        try {
-            val isValid = if (_isOfflineMode.value) {
-                validateLocalMove(row, col, value)
-            } else {
-                sudokuRepository.validateMove(_grid.value, row, col, value)
+        val hash = boardHash
+        val cachedResult = validationCache[hash, cell, value]
+        if (cachedResult != null) return withValidationResult(state, cell, cachedResult)
+        
+        if (_isOfflineMode.value) {
+            val isValid = candidateState.isValidPlacement(cell, value)
+            validationCache.put(hash, cell, value, isValid)
+            return withValidationResult(state, cell, isValid)
+        }
+        
+        // Checked against this exact board, after a short pause so quick retyping of the
+        // same cell only reaches the server once
+        val grid = state.grid
+        val generation = boardGeneration
+        validationJobs[cell] = viewModelScope.launch {
+            try {
+                delay(validationDelayMs)
+                val isValid = sudokuRepository.validateMove(grid, cell / 9, cell % 9, value)
+                dispatch(GameIntent.ValidationResult(generation, cell, value, hash, isValid))
+            } catch (error: CancellationException) {
+                throw error
+            } catch (error: Exception) {
+                dispatch(GameIntent.Failed("Failed to validate move: ${error.message}"))
             }
-            
-            // Cache the result
-            cacheValidationResult(cacheKey, isValid)
-            updateValidationResult(row, col, isValid)
-            
-        } catch (error: Exception) {
-            _errorMessage.value = "Failed to validate move: ${error.message}"
         }
+        return state
     }
 
-    private fun updateValidationResult(row: Int, col: Int, isValid: Boolean) {
-        val position = CellPosition(row, col)
-        val newErrors = _errors.value.toMutableMap()
-        if (isValid) {
-            newErrors.remove(position)
-        } else {
-            newErrors[position] = true
-        }
-        _errors.value = newErrors
-        checkVictory()
+    private fun applyValidationResult(state: GameUiState, result: GameIntent.ValidationResult): GameUiState {
+        if (result.generation != boardGeneration) return state
+        validationCache.put(result.boardHash, result.cell, result.value, result.isValid)
+        
+        // Only the cell's current value decides its mark
+        if (state.grid.valueAt(result.cell) != result.value) return state
+        return withValidationResult(state, result.cell, result.isValid)
+    }
+
+    // Victory is only decided once the latest move has a verdict
+    private fun withValidationResult(state: GameUiState, cell: Int, isValid: Boolean): GameUiState {
+        val mistakes = if (isValid) state.mistakes - cell else state.mistakes + cell
+        return checkVictory(state.copy(mistakes = mistakes), showAlert = true)
     }
 
-    private fun validateLocalMove(row: Int, col: Int, value: Int): Boolean {
-        val currentGrid = _grid.value
+    private fun requestHint(state: GameUiState): GameUiState {
+        val selectedPos = state.selectedCell ?: return state
         
-        // Check row
-        for (c in 0..8) {
-            if (c != col && currentGrid[row][c] == value) {
-                return false
-            }
-        }
+        // Don't give hints for original cells or cells that already have a value
+        if (state.originalGrid[selectedPos.row, selectedPos.col] != null || 
+            state.grid[selectedPos.row, selectedPos.col] != null) return state
         
-        // Check column
-        for (r in 0..8) {
-            if (r != row && currentGrid[r][col] == value) {
-                return false
-            }
+        val knownSolution = puzzleSolution
+        if (knownSolution != null) {
+            return showHint(state, selectedPos.row, selectedPos.col, knownSolution[selectedPos.row, selectedPos.col] ?: 0)
         }
         
-        // Check 3x3 box
-        val boxRow = (row / 3) * 3
-        val boxCol = (col / 3) * 3
-        
-        for (r in boxRow until boxRow + 3) {
-            for (c in boxCol until boxCol + 3) {
-                if (r != row && c != col && currentGrid[r][c] == value) {
-                    return false
+        val grid = state.grid
+        val generation = boardGeneration
+        viewModelScope.launch {
+            try {
+                val solution = solveRemotelyOrLocally(grid)
+                if (solution != null) {
+                    dispatch(GameIntent.HintReady(generation, selectedPos.row, selectedPos.col, solution[selectedPos.row, selectedPos.col] ?: 0))
                 }
+            } catch (error: CancellationException) {
+                throw error
+            } catch (error: Exception) {
+                dispatch(GameIntent.Failed("Failed to generate hint: ${error.message}"))
             }
         }
-        
-        return true
+        return state
     }
 
-    private fun checkVictory() {
-        val currentGrid = _grid.value
-        val currentErrors = _errors.value
-        
-        // Check if all cells are filled
-        val allFilled = currentGrid.all { row -> row.all { it != null } }
-        if (!allFilled) return
-        
-        // Check if there are no errors
-        val hasErrors = currentErrors.values.any { it }
-        if (hasErrors) return
+    private fun showHint(state: GameUiState, row: Int, col: Int, value: Int): GameUiState {
+        val hint = Triple(row, col, value)
         
-        _isVictory.value = true
-        _showVictoryAlert.value = true
-        stopTimer()
-        
-        // Save game progress
+        // Clear the hint after 3 seconds
         viewModelScope.launch {
-            saveProgressAsync(isCompleted = true)
-            performanceMonitor.recordCustomMetric("game_completion", 1.0)
+            delay(3000)
+            dispatch(GameIntent.HintExpired(hint))
         }
+        return state.copy(hintCell = hint)
     }
 
-    private fun checkVictoryWithoutAnimation() {
-        val currentGrid = _grid.value
-        val currentErrors = _errors.value
-        
-        // Check if all cells are filled and no errors
-        val allFilled = currentGrid.all { row -> row.all { it != null } }
-        val hasErrors = currentErrors.values.any { it }
+    private fun solveBoard(state: GameUiState): GameUiState {
+        val knownSolution = puzzleSolution
+        if (knownSolution != null) return solved(loadBoard(state, knownSolution))
         
-        if (allFilled && !hasErrors) {
-            _isVictory.value = true
-            stopTimer()
-            
-            viewModelScope.launch {
-                saveProgressAsync(isCompleted = true)
+        val grid = state.grid
+        val generation = boardGeneration
+        viewModelScope.launch {
+            try {
+                val solution = solveRemotelyOrLocally(grid)
+                if (solution != null) {
+                    dispatch(GameIntent.BoardSolved(generation, solution))
+                } else {
+                    dispatch(GameIntent.Failed("Puzzle cannot be solved from current state"))
+                }
+            } catch (error: CancellationException) {
+                throw error
+            } catch (error: Exception) {
+                dispatch(GameIntent.Failed("Failed to solve puzzle: ${error.message}"))
             }
         }
+        return state
     }
 
-    private fun getCacheKey(grid: SudokuGrid, row: Int, col: Int, value: Int): String {
-        val gridHash = grid.joinToString("") { it.joinToString("") { cell -> cell?.toString() ?: "null" } }
-        return "${gridHash}_${row}_${col}_$value"
+    private suspend fun solveRemotelyOrLocally(grid: SudokuGrid): SudokuGrid? {
+        return if (_isOfflineMode.value) {
+            solveGridLocally(grid)
+        } else {
+            sudokuRepository.solvePuzzle(grid)
+        }
     }
 
-    private fun cacheValidationResult(key: String, result: Boolean) {
-        if (validationCache.size >= maxCacheSize) {
-            // Remove oldest entries (simple approach - remove first half)
-            val keysToRemove = validationCache.keys.take(maxCacheSize / 2)
-            keysToRemove.forEach { validationCache.remove(it) }
+    // An auto-solved board is a win, but without the victory alert
+    private fun solved(state: GameUiState): GameUiState = checkVictory(state, showAlert = false)
+
+    private fun dismissVictory(state: GameUiState): GameUiState {
+        gamesCompleted++
+        
+        // Show interstitial ad based on frequency
+        if (gamesCompleted >= adFrequency && gamesCompleted % adFrequency == 0) {
+            // TODO: Show interstitial ad
+            println("📺 Would show interstitial ad after $gamesCompleted games completed")
         }
-        validationCache[key] = result
+        return state.copy(showVictoryAlert = false)
     }
 
-    private fun startTimer() {
-        stopTimer()
-        timerJob = viewModelScope.launch {
-            while (true) {
-                delay(1000)
-                _timeSpentSeconds.value = _timeSpentSeconds.value + 1
-            }
+    private fun checkVictory(state: GameUiState, showAlert: Boolean): GameUiState {
+        // All cells filled, no clashes, no wrong entries, and not already won; the
+        // candidate state keeps the counts, so this is constant time
+        if (state.isVictory || !candidateState.isSolved || !state.mistakes.isEmpty()) return state
+        
+        val won = state.copy(isVictory = true, showVictoryAlert = showAlert)
+        gameClock.stop()
+        
+        // Save game progress
+        autosave(won, isCompleted = true, immediately = true)
+        viewModelScope.launch {
+            saveProgressAsync(won, isCompleted = true)
+            if (showAlert) performanceMonitor.recordCustomMetric("game_completion", 1.0)
         }
+        return won
+    }
+
+    // Called by the game screen as it becomes visible and hidden; the clock is paused
+    // while the app is in the background
+    fun onScreenStarted() {
+        gameClock.onForeground()
     }
 
-    private fun stopTimer() {
-        timerJob?.cancel()
-        timerJob = null
+    fun onScreenStopped() {
+        gameClock.onBackground()
+        // The process may be killed while in the background, so save the game now
+        val state = _uiState.value
+        if (!state.isVictory) autosave(state, isCompleted = false, immediately = true)
     }
 
-    private suspend fun saveProgressAsync(isCompleted: Boolean) {
-        val currentPuzzleId = _puzzleId.value ?: return
+    private suspend fun saveProgressAsync(state: GameUiState, isCompleted: Boolean) {
+        val currentPuzzleId = state.puzzleId ?: return
         println("🔍 Saving progress for puzzle: $currentPuzzleId, completed: $isCompleted")
         
+        // Local progress is kept by the autosaver; only online games are sent to the server
+        if (_isOfflineMode.value) return
+        
         try {
-            if (_isOfflineMode.value) {
-                saveLocalProgress(isCompleted)
-            } else {
-                val user = authRepository.getCurrentUser()
-                if (user != null) {
-                    sudokuRepository.saveGameProgress(
-                        userId = user.id,
-                        puzzleId = currentPuzzleId,
-                        currentGrid = _grid.value,
-                        isCompleted = isCompleted,
-                        timeSpentSeconds = _timeSpentSeconds.value
-                    )
-                    println("✅ Game progress saved")
-                }
+            val user = authRepository.getCurrentUser()
+            if (user != null) {
+                sudokuRepository.saveGameProgress(
+                    userId = user.id,
+                    puzzleId = currentPuzzleId,
+                    currentGrid = state.grid,
+                    isCompleted = isCompleted,
+                    timeSpentSeconds = gameClock.elapsedSeconds()
+                )
+                println("✅ Game progress saved")
             }
         } catch (error: Exception) {
-            _errorMessage.value = "Failed to save progress: ${error.message}"
+            dispatch(GameIntent.Failed("Failed to save progress: ${error.message}"))
         }
     }
 
-    private suspend fun saveLocalProgress(isCompleted: Boolean) {
-        val currentPuzzleId = _puzzleId.value ?: return
-        val user = authRepository.getCurrentUser()
+    // Queues the game for the local progress row; the autosaver fills in the user
+    private fun autosave(state: GameUiState, isCompleted: Boolean, immediately: Boolean = false) {
+        val currentPuzzleId = state.puzzleId ?: return
         
         val record = StoredGameRecord(
             puzzleId = currentPuzzleId,
-            userId = user?.id,
-            currentGrid = _grid.value,
-            originalGrid = _originalGrid.value,
+            userId = null,
+            currentGrid = state.grid,
+            originalGrid = state.originalGrid,
+            notes = state.notes,
             difficulty = _difficulty.value,
             isCompleted = isCompleted,
-            timeSpentSeconds = _timeSpentSeconds.value,
-            timestamp = java.util.Date()
+            timeSpentSeconds = gameClock.elapsedSeconds(),
+            timestamp = java.util.Date(),
+            id = progressRowId
         )
         
-        sudokuRepository.saveLocalProgress(record)
+        autosaver.save(record, gameSession, immediately)
     }
 
     fun setOfflineMode(isOffline: Boolean) {
         _isOfflineMode.value = isOffline
     }
 
-    private fun loadTestPuzzle() {
-        _isLoading.value = true
-        _errorMessage.value = null
+    // Cold start: continue the last unfinished game if there is one, otherwise start a
+    // locally generated puzzle. Only one indexed query stands between launch and a resumed
+    // board; its solution and the offline pool top-up are worked out afterwards.
+    private fun resumeOrLoadPuzzle() {
+        dispatch(GameIntent.LoadStarted)
         
-        viewModelScope.launch {
-            val testPuzzle = withContext(backgroundDispatcher) {
-                createFallbackPuzzle(_difficulty.value)
+        loadJob = viewModelScope.launch {
+            val saved = try {
+                sudokuRepository.getLatestUnfinishedGame()
+            } catch (error: Exception) {
+                println("⚠️ Could not read saved games: ${error.message}")
+                null
             }
             
-            _grid.value = testPuzzle.grid
-            _originalGrid.value = testPuzzle.grid
-            _puzzleId.value = testPuzzle.id
-            resetGameState()
-            _isLoading.value = false
-            println("Loaded test puzzle with ${testPuzzle.grid.sumOf { row -> row.count { it != null } }} filled cells")
-        }
-    }
-
-    // Sudoku solving and generation logic
-    private fun createFallbackPuzzle(difficulty: SudokuDifficulty): SudokuPuzzle {
-        println("🎯 Creating fallback puzzle for difficulty: ${difficulty.value}")
-        
-        // Pre-computed solution for better performance
-        val solution: SudokuGrid = arrayOf(
-            arrayOf(5, 3, 4, 6, 7, 8, 9, 1, 2),
-            arrayOf(6, 7, 2, 1, 9, 5, 3, 4, 8),
-            arrayOf(1, 9, 8, 3, 4, 2, 5, 6, 7),
-            arrayOf(8, 5, 9, 7, 6, 1, 4, 2, 3),
-            arrayOf(4, 2, 6, 8, 5, 3, 7, 9, 1),
-            arrayOf(7, 1, 3, 9, 2, 4, 8, 5, 6),
-            arrayOf(9, 6, 1, 5, 3, 7, 2, 8, 4),
-            arrayOf(2, 8, 7, 4, 1, 9, 6, 3, 5),
-            arrayOf(3, 4, 5, 2, 8, 6, 1, 7, 9)
-        )
-        
-        val grid = Array(9) { Array<Int?>(9) { null } }
-        
-        // Get positions for difficulty
-        val positions = getPositionsForDifficulty(difficulty)
-        
-        // Fill the grid efficiently
-        for ((row, col) in positions) {
-            grid[row][col] = solution[row][col]
-        }
-        
-        val filledCells = positions.size
-        println("🎯 Created fallback puzzle with $filledCells filled cells for ${difficulty.value}")
-        
-        return SudokuPuzzle(id = -1, grid = grid, solution = solution, difficulty = difficulty)
-    }
-
-    private fun getPositionsForDifficulty(difficulty: SudokuDifficulty): List<Pair<Int, Int>> {
-        return when (difficulty) {
-            SudokuDifficulty.EASY -> listOf(
-                0 to 0, 0 to 1, 0 to 2, 0 to 4, 0 to 6, 0 to 7,
-                1 to 0, 1 to 2, 1 to 3, 1 to 4, 1 to 5, 1 to 7, 1 to 8,
-                2 to 0, 2 to 1, 2 to 3, 2 to 5, 2 to 7, 2 to 8,
-                3 to 0, 3 to 2, 3 to 4, 3 to 6, 3 to 8,
-                4 to 0, 4 to 2, 4 to 3, 4 to 5, 4 to 6, 4 to 8,
-                5 to 0, 5 to 2, 5 to 4, 5 to 6, 5 to 8,
-                6 to 0, 6 to 1, 6 to 3, 6 to 5, 6 to 7, 6 to 8,
-                7 to 0, 7 to 2, 7 to 3, 7 to 4, 7 to 5, 7 to 7, 7 to 8,
-                8 to 0, 8 to 1, 8 to 2, 8 to 4, 8 to 6, 8 to 7, 8 to 8
-            )
-            
-            SudokuDifficulty.MEDIUM -> listOf(
-                0 to 0, 0 to 2, 0 to 4, 0 to 7,
-                1 to 0, 1 to 3, 1 to 5, 1 to 8,
-                2 to 1, 2 to 3, 2 to 5, 2 to 7,
-                3 to 0, 3 to 4, 3 to 8,
-                4 to 2, 4 to 3, 4 to 5, 4 to 6,
-                5 to 0, 5 to 4, 5 to 8,
-                6 to 1, 6 to 3, 6 to 5, 6 to 7,
-                7 to 0, 7 to 3, 7 to 5, 7 to 8,
-                8 to 1, 8 to 4, 8 to 6, 8 to 8,
-                2 to 0, 3 to 2, 4 to 0, 4 to 8, 5 to 2, 6 to 0, 7 to 1
-            )
-            
-            SudokuDifficulty.HARD -> listOf(
-                0 to 0, 0 to 4, 0 to 8,
-                1 to 2, 1 to 6,
-                2 to 1, 2 to 7,
-                3 to 0, 3 to 8,
-                4 to 3, 4 to 5,
-                5 to 0, 5 to 8,
-                6 to 1, 6 to 7,
-                7 to 2, 7 to 6,
-                8 to 0, 8 to 4, 8 to 8,
-                1 to 0, 3 to 4, 4 to 1, 4 to 7, 5 to 4, 7 to 8
-            )
-        }
-    }
-
-    private suspend fun solveGridLocally(grid: SudokuGrid): SudokuGrid {
-        return withContext(backgroundDispatcher) {
-            // Implementation of backtracking solver
-            val gridCopy = grid.map { it.clone() }.toTypedArray()
-            if (solveBacktrack(gridCopy)) gridCopy else emptyArray()
-        }
-    }
-
-    private fun solveBacktrack(grid: SudokuGrid): Boolean {
-        for (row in 0..8) {
-            for (col in 0..8) {
-                if (grid[row][col] == null) {
-                    for (num in 1..9) {
-                        if (isValidPlacement(grid, row, col, num)) {
-                            grid[row][col] = num
-                            
-                            if (solveBacktrack(grid)) {
-                                return true
-                            }
-                            
-                            grid[row][col] = null
-                        }
-                    }
-                    return false
+            if (saved != null) {
+                _difficulty.value = saved.difficulty
+                dispatch(GameIntent.GameResumed(saved))
+                println("▶️ Resumed puzzle ${saved.puzzleId} at ${saved.timeSpentSeconds}s")
+                
+                // The solution only backs hints and mistake marks, so it can wait until the
+                // board is on screen
+                val solution = solveGridLocally(saved.originalGrid)
+                if (solution != null) dispatch(GameIntent.SolutionReady(saved.originalGrid, solution))
+            } else {
+                val testPuzzle = withContext(backgroundDispatcher) {
+                    puzzleGenerator.generatePuzzle(_difficulty.value)
                 }
+                
+                startSession(testPuzzle)
+                println("Loaded test puzzle with ${testPuzzle.grid.filledCount} filled cells")
             }
+            
+            launch(backgroundDispatcher) { downloadAdditionalPuzzlesInBackground() }
         }
-        return true
     }
 
-    private fun isValidPlacement(grid: SudokuGrid, row: Int, col: Int, num: Int): Boolean {
-        // Check row
-        for (c in 0..8) {
-            if (grid[row][c] == num) return false
-        }
-        
-        // Check column
-        for (r in 0..8) {
-            if (grid[r][col] == num) return false
-        }
-        
-        // Check 3x3 box
-        val boxRow = (row / 3) * 3
-        val boxCol = (col / 3) * 3
-        
-        for (r in boxRow until boxRow + 3) {
-            for (c in boxCol until boxCol + 3) {
-                if (grid[r][c] == num) return false
-            }
+    private suspend fun solveGridLocally(grid: SudokuGrid): SudokuGrid? {
+        return withContext(backgroundDispatcher) {
+            solverSelector.solverFor(_difficulty.value).solve(grid)
         }
-        
-        return true
     }
 
     override fun onCleared() {
         super.onCleared()
-        stopTimer()
+        gameClock.stop()
+        intents.close()
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,86 @@
+package com.sudokumaster.android.utils
+
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.transformLatest
+
+// Play time of the current game, derived from a monotonic clock instead of counted ticks.
+// It stores the accumulated time plus the moment it last started running, so reading it
+// is exact however late a coroutine wakes up. It only runs while a game is being played
+// and the app is in the foreground.
+class GameClock(private val nanoTime: () -> Long = System::nanoTime) {
+
+    private class State(val accumulatedNanos: Long, val runningSinceNanos: Long?) {
+        val isRunning: Boolean
+            get() = runningSinceNanos != null
+
+        fun elapsedNanos(now: Long): Long = accumulatedNanos + (runningSinceNanos?.let { now - it } ?: 0L)
+    }
+
+    private val state = MutableStateFlow(State(0L, null))
+
+    // A game is being timed (started and not yet won)
+    private var isActive = false
+
+    private var isInForeground = true
+
+    // Whole seconds played, emitted on each second boundary while the clock runs and
+    // once whenever it starts, pauses or resets. Nothing wakes up while it is paused,
+    // and nothing at all when no one collects.
+    @OptIn(ExperimentalCoroutinesApi::class)
+    val seconds: Flow<Int> = state
+        .transformLatest { current ->
+            while (true) {
+                val elapsedMillis = current.elapsedNanos(nanoTime()) / NANOS_PER_MILLI
+                emit((elapsedMillis / 1000).toInt())
+                if (!current.isRunning) break
+                delay(1000 - elapsedMillis % 1000)
+            }
+        }
+        .distinctUntilChanged()
+
+    fun elapsedSeconds(): Int = (state.value.elapsedNanos(nanoTime()) / NANOS_PER_SECOND).toInt()
+
+    // Starts timing a new game from `elapsedSeconds`
+    fun start(elapsedSeconds: Int = 0) {
+        isActive = true
+        val accumulated = elapsedSeconds * NANOS_PER_SECOND
+        state.value = State(accumulated, if (isInForeground) nanoTime() else null)
+    }
+
+    // Stops timing the current game; the elapsed time is kept
+    fun stop() {
+        isActive = false
+        update()
+    }
+
+    fun onForeground() {
+        isInForeground = true
+        update()
+    }
+
+    fun onBackground() {
+        isInForeground = false
+        update()
+    }
+
+    private fun update() {
+        val current = state.value
+        val shouldRun = isActive && isInForeground
+        if (shouldRun == current.isRunning) return
+        val now = nanoTime()
+        state.value = if (shouldRun) {
+            State(current.accumulatedNanos, now)
+        } else {
+            State(current.elapsedNanos(now), null)
+        }
+    }
+
+    private companion object {
+        const val NANOS_PER_MILLI = 1_000_000L
+        const val NANOS_PER_SECOND = 1_000_000_000L
+    }
+}
@@ -2,11 +2,14 @@ package com.sudokumaster.android.utils
 
 import android.content.Context
 import android.os.Debug
+import android.os.Process
+import android.os.SystemClock
 import kotlinx.coroutines.*
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicBoolean
 import javax.inject.Inject
 import javax.inject.Singleton
 
@@ -18,6 +21,7 @@ class PerformanceMonitor @Inject constructor(
     private val activeOperations = ConcurrentHashMap<String, Long>()
     private val completedOperations = ConcurrentHashMap<String, OperationMetric>()
     private val customMetrics = ConcurrentHashMap<String, Double>()
+    private val timeToInteractiveRecorded = AtomicBoolean(false)
     
     private val _memoryUsage = MutableStateFlow(0L)
     val memoryUsage: StateFlow<Long> = _memoryUsage.asStateFlow()
@@ -122,6 +126,15 @@ class PerformanceMonitor @Inject constructor(
         println("📊 Custom metric recorded: $name = $value")
     }
     
+    // Records, once per process, the time from process start to the first board the player
+    // can use, as the TIME_TO_INTERACTIVE metric in milliseconds
+    fun recordTimeToInteractive(source: String) {
+        if (!timeToInteractiveRecorded.compareAndSet(false, true)) return
+        val elapsed = SystemClock.elapsedRealtime() - Process.getStartElapsedRealtime()
+        println("🚀 Board interactive ${elapsed}ms after process start ($source)")
+        recordCustomMetric(TIME_TO_INTERACTIVE, elapsed.toDouble())
+    }
+    
     fun getOperationMetric(operationName: String): OperationMetric? {
         return completedOperations[operationName]
     }
@@ -253,4 +266,8 @@ class PerformanceMonitor @Inject constructor(
         customMetrics.clear()
         println("🧹 Performance monitor cleaned up")
     }
+    
+    companion object {
+        const val TIME_TO_INTERACTIVE = "time_to_interactive_ms"
+    }
 }
\ No newline at end of file
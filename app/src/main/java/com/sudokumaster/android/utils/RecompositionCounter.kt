@@ -0,0 +1,44 @@
+package com.sudokumaster.android.utils
+
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.SideEffect
+import com.sudokumaster.android.BuildConfig
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+// Debug-only recomposition counts per composable, used to check that a move recomposes
+// neither the board nor more than the cells it touched. Release builds never record anything.
+object RecompositionCounter {
+    const val SUDOKU_CANVAS_BOARD = "SudokuCanvasBoard"
+    const val SUDOKU_CELL = "SudokuCell"
+
+    private val counts = ConcurrentHashMap<String, AtomicInteger>()
+
+    fun increment(tag: String) {
+        counts.getOrPut(tag) { AtomicInteger() }.incrementAndGet()
+    }
+
+    // Counts since the last call, per tag, and starts counting again from zero
+    fun takeCounts(): Map<String, Int> = counts.mapValues { (_, count) -> count.getAndSet(0) }
+}
+
+// Counts every recomposition of the calling composable under `tag`
+@Composable
+fun TrackRecompositions(tag: String) {
+    if (BuildConfig.DEBUG) {
+        SideEffect { RecompositionCounter.increment(tag) }
+    }
+}
+
+// Logs the recompositions counted since the last report, e.g.
+// "Board recomposed SudokuCanvasBoard x 0, SudokuCell x 1". Call it after the children being
+// counted so their side effects run first.
+@Composable
+fun ReportRecompositions(label: String) {
+    if (BuildConfig.DEBUG) {
+        SideEffect {
+            val counts = RecompositionCounter.takeCounts().entries.sortedBy { it.key }
+            println("🔁 $label recomposed ${counts.joinToString { (tag, count) -> "$tag x $count" }}")
+        }
+    }
+}
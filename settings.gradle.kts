@@ -21,4 +21,6 @@ dependencyResolutionManagement {
 }
 
 rootProject.name = "Sudoku Master"
-include(":app")
\ No newline at end of file
+include(":app")
+include(":sudoku-engine")
+include(":sudoku-benchmark")
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.sudokumaster.benchmark
+
+import com.sudokumaster.engine.generator.GeneratedPuzzle
+import com.sudokumaster.engine.generator.PuzzleGenerator
+import com.sudokumaster.engine.model.DifficultyLevel
+import com.sudokumaster.engine.solver.BitmaskSolver
+import com.sudokumaster.engine.solver.DifficultyGrader
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+// Full local generation (fill, clue removal with uniqueness checks, grading) with the
+// clue targets the app uses for each difficulty. Seeded so every trial sees the same puzzles.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class GeneratorBenchmark {
+
+    @Param("EASY", "MEDIUM", "HARD")
+    @JvmField
+    var level = ""
+
+    private lateinit var target: DifficultyLevel
+    private var cellsToRemove = 0
+    private lateinit var generator: PuzzleGenerator
+
+    @Setup(Level.Trial)
+    fun setup() {
+        target = DifficultyLevel.valueOf(level)
+        cellsToRemove = when (target) {
+            DifficultyLevel.EASY -> 35
+            DifficultyLevel.MEDIUM -> 45
+            DifficultyLevel.HARD -> 55
+        }
+        generator = PuzzleGenerator(BitmaskSolver(), DifficultyGrader(), Random(SEED))
+    }
+
+    @Benchmark
+    fun generate(): GeneratedPuzzle {
+        return generator.generate(target, cellsToRemove)
+    }
+
+    companion object {
+        private const val SEED = 2024
+    }
+}
@@ -0,0 +1,51 @@
+package com.sudokumaster.benchmark
+
+import com.sudokumaster.engine.codec.SudokuGridTypeAdapter
+import com.sudokumaster.engine.model.SudokuGrid
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+// Grid encodings. The blob* benchmarks measure the 41-byte nibble BLOB the Room converters
+// persist; the legacyJson* ones measure the Gson JSON that Room stored until schema 5 and
+// that Retrofit still sends on the wire, kept as the baseline.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class GridCodecBenchmark {
+
+    private val adapter = SudokuGridTypeAdapter()
+    private lateinit var grid: SudokuGrid
+    private lateinit var packed: ByteArray
+    private lateinit var json: String
+
+    @Setup
+    fun setup() {
+        grid = SudokuGrid.fromCells(PuzzleCorpus.cells("medium").first())
+        packed = grid.toBytes()
+        json = adapter.toJson(grid)
+    }
+
+    @Benchmark
+    fun blobEncode(): ByteArray = grid.toBytes()
+
+    @Benchmark
+    fun blobDecode(): SudokuGrid = SudokuGrid.fromBytes(packed)
+
+    @Benchmark
+    fun blobRoundTrip(): SudokuGrid = SudokuGrid.fromBytes(grid.toBytes())
+
+    @Benchmark
+    fun legacyJsonEncode(): String = adapter.toJson(grid)
+
+    @Benchmark
+    fun legacyJsonDecode(): SudokuGrid? = adapter.fromJson(json)
+
+    @Benchmark
+    fun legacyJsonRoundTrip(): SudokuGrid? = adapter.fromJson(adapter.toJson(grid))
+}
@@ -0,0 +1,63 @@
+package com.sudokumaster.benchmark
+
+// Fixed puzzle sets so results stay comparable between runs. Easy, medium and hard
+// were produced by the engine's generator and graded into those bands, except the last
+// hard one (Arto Inkala's "world's hardest"); the 17-clue set holds minimal puzzles.
+object PuzzleCorpus {
+
+    private val EASY = listOf(
+        "420705190009364008056092340090801030100609872080207005362078051000506003500413200",
+        "601053040900600358803004612008105960010069837700438501100000073580310096307040005",
+        "713000604020067809689324700040030000007290480306800075931400007008019302200573918",
+        "000006470064387290807000306085639027036720005792005043301000000270063004049570832",
+        "836174920204050300790030406070040500060080001452000089500790832927813054600025007",
+        "003405702752189600064723000020004307576391824349000500085047000037900200200500406",
+        "968302000503600189004009020407908502659031874002450000785026940000095268090000015",
+        "759000820062700430380609157400060273600003500020007698936482715210000000845970000"
+    )
+
+    private val MEDIUM = listOf(
+        "000000068080004091700009304102006080058003002040098100976132040000007619000905007",
+        "907056038860042700021070500008501047000083012010007000053260000000005300600704100",
+        "900000000300020070007009400480000016076438592209006043700085304830700060094200000",
+        "090510067100720800000086000560900283000861509080230600008003002200150030005600100",
+        "405009700800000091100206000700060004000054000050732918003498006086500030041620007",
+        "700000009204005006000063084078409000502600000400052908617008390003506020005901600",
+        "806000007030000000070368500520901080081057200460802700150200306003510820040003000",
+        "723000000050000360009005280080213006000007510000064008670050831502701649000030050"
+    )
+
+    private val HARD = listOf(
+        "000005090000268000000100000407010208000000500300400006601902003008040000020700609",
+        "600007200009040006200030700070060001000300000050000490061420000000076500490000008",
+        "030000200095020001001000000009000064040810500800206010700080000000030907000702005",
+        "030748005980060030100300000008094002001000300000520000000070001400900500007000020",
+        "006130000008000010000009520003040005520000069000000200700460100045008000060201000",
+        "000016070002000400410307500030800000009000005160050093800701050000000000001080700",
+        "200307000005000030400060107000706003000800500047200906070000050038020000100000400",
+        "800000000003600000070090200050007000000045700000100030001000068008500010090000400"
+    )
+
+    private val SEVENTEEN_CLUES = listOf(
+        "000000010400000000020000000000050407008000300001090000300400200050100000000806000",
+        "000000012003600000000007000410020000000500300700000600280000040000300500000000000",
+        "000000012008030000000000040120500000000004700060000000507000300000620000000100000",
+        "000000012040050000000009000070600400000100000000000050000087500601000300200000000",
+        "000000012050400000000000030700600400001000000000080000920000800000510700000003000",
+        "000000013000030080070000000000206000030000900000010000600500204000400700100000000",
+        "000000013000200000000000080000760200008000400010000000200000750600340000000008000",
+        "000000013000500070000802000000400900107000000000000200890000050040000600000010000"
+    )
+
+    // Flat 81-cell boards (0 = empty) for one of: easy, medium, hard, seventeen
+    fun cells(name: String): List<IntArray> {
+        val puzzles = when (name) {
+            "easy" -> EASY
+            "medium" -> MEDIUM
+            "hard" -> HARD
+            "seventeen" -> SEVENTEEN_CLUES
+            else -> throw IllegalArgumentException("Unknown corpus: $name")
+        }
+        return puzzles.map { puzzle -> IntArray(81) { puzzle[it] - '0' } }
+    }
+}
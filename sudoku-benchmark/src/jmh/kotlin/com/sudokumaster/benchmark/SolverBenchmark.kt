@@ -0,0 +1,62 @@
+package com.sudokumaster.benchmark
+
+import com.sudokumaster.engine.solver.BitmaskSolver
+import com.sudokumaster.engine.solver.DancingLinksSolver
+import com.sudokumaster.engine.solver.SudokuSolver
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+// One op solves (or uniqueness-checks) the next puzzle of the corpus, cycling through it
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class SolverBenchmark {
+
+    @Param("bitmask", "dancing_links")
+    @JvmField
+    var engine = ""
+
+    @Param("easy", "medium", "hard", "seventeen")
+    @JvmField
+    var corpus = ""
+
+    private lateinit var solver: SudokuSolver
+    private lateinit var puzzles: List<IntArray>
+    private val work = IntArray(81)
+    private var next = 0
+
+    @Setup
+    fun setup() {
+        solver = when (engine) {
+            "bitmask" -> BitmaskSolver()
+            "dancing_links" -> DancingLinksSolver()
+            else -> throw IllegalArgumentException("Unknown engine: $engine")
+        }
+        puzzles = PuzzleCorpus.cells(corpus)
+    }
+
+    @Benchmark
+    fun solve(): Boolean {
+        nextPuzzle().copyInto(work)
+        return solver.solveCells(work)
+    }
+
+    // The check run before storing an offline puzzle and for every clue the generator removes
+    @Benchmark
+    fun countSolutions(): Int {
+        return solver.countSolutionsCells(nextPuzzle(), 2)
+    }
+
+    private fun nextPuzzle(): IntArray {
+        val puzzle = puzzles[next]
+        next = (next + 1) % puzzles.size
+        return puzzle
+    }
+}
@@ -0,0 +1,82 @@
+package com.sudokumaster.benchmark
+
+import com.sudokumaster.engine.model.SudokuGrid
+import com.sudokumaster.engine.validation.CandidateState
+import com.sudokumaster.engine.validation.ValidationCache
+import com.sudokumaster.engine.validation.ZobristHash
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+// Per-keystroke work on a medium board: checking a move, applying it to the candidate
+// state and producing the next immutable grid. Moves cycle over every empty cell and digit.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+open class ValidationBenchmark {
+
+    private val state = CandidateState()
+    private val zobrist = ZobristHash()
+    private val cache = ValidationCache(100)
+    private var boardHash = 0L
+    private lateinit var grid: SudokuGrid
+    private lateinit var played: SudokuGrid
+    private lateinit var emptyCells: IntArray
+    private var next = 0
+
+    @Setup
+    fun setup() {
+        val cells = PuzzleCorpus.cells("medium").first()
+        grid = SudokuGrid.fromCells(cells)
+        played = grid
+        state.load(grid)
+        boardHash = zobrist.hash(grid)
+        emptyCells = cells.indices.filter { cells[it] == 0 }.toIntArray()
+    }
+
+    @Benchmark
+    fun validateMove(): Boolean {
+        val move = next++
+        return state.isValidPlacement(emptyCells[move % emptyCells.size], move % 9 + 1)
+    }
+
+    // Enter a digit and erase it again, so the board is unchanged after every op
+    @Benchmark
+    fun enterAndErase(): Int {
+        val move = next++
+        val cell = emptyCells[move % emptyCells.size]
+        state.set(cell, move % 9 + 1)
+        return state.set(cell, 0)
+    }
+
+    @Benchmark
+    fun copyOnWriteEdit(): SudokuGrid {
+        val move = next++
+        val cell = emptyCells[move % emptyCells.size]
+        return grid.with(cell / 9, cell % 9, move % 9 + 1)
+    }
+
+    // Successive snapshots of one game, so the cost of flattening long delta chains is included
+    @Benchmark
+    fun snapshotChain(): SudokuGrid {
+        val move = next++
+        val cell = emptyCells[move % emptyCells.size]
+        played = played.with(cell / 9, cell % 9, move % 9 + 1)
+        return played
+    }
+
+    // Hash update plus cache lookup for a move, filling the cache on a miss
+    @Benchmark
+    fun cachedValidation(): Boolean {
+        val move = next++
+        val cell = emptyCells[move % emptyCells.size]
+        val digit = move % 9 + 1
+        val hash = zobrist.update(boardHash, cell, 0, digit)
+        return cache[hash, cell, digit] ?: state.isValidPlacement(cell, digit).also { cache.put(hash, cell, digit, it) }
+    }
+}
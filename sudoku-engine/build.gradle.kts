@@ -0,0 +1,35 @@
+import org.jetbrains.kotlin.gradle.dsl.JvmTarget
+
+// Pure Kotlin/JVM Sudoku engine: grid model, solvers, grading, generation and
+// move validation. No Android dependencies, so it runs on any JVM (tests, benchmarks, CI).
+plugins {
+    alias(libs.plugins.jetbrains.kotlin.jvm)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+kotlin {
+    compilerOptions {
+        jvmTarget.set(JvmTarget.JVM_17)
+    }
+}
+
+dependencies {
+    // Grid JSON adapter shared by Retrofit and the Room converters
+    api(libs.gson)
+
+    testImplementation(libs.junit)
+}
+
+// Regenerates the offline puzzle bank shipped in the app's assets:
+//   ./gradlew :sudoku-engine:generatePuzzleBank
+tasks.register<JavaExec>("generatePuzzleBank") {
+    group = "sudoku"
+    description = "Generates app/src/main/assets/puzzle_bank.bin"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.sudokumaster.engine.codec.PuzzleBankGeneratorKt")
+    args(rootProject.file("app/src/main/assets/puzzle_bank.bin").absolutePath, "1000")
+}
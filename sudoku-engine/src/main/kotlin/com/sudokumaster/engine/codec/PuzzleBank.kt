@@ -0,0 +1,98 @@
+package com.sudokumaster.engine.codec
+
+import com.sudokumaster.engine.model.DifficultyLevel
+import com.sudokumaster.engine.model.SudokuGrid
+import java.io.DataOutputStream
+import java.io.OutputStream
+import java.nio.ByteBuffer
+
+data class BankPuzzle(
+    val grid: SudokuGrid,
+    val solution: SudokuGrid
+)
+
+// Read-only view of a binary puzzle bank. Works directly on the buffer (typically a
+// memory-mapped asset): nothing is parsed up front and each puzzle is decoded on request.
+//
+// Layout (big-endian):
+//   magic "SDKB", version, level count, then per level (in DifficultyLevel order)
+//   the index of its first record and its record count; records follow the header.
+// Record (52 bytes): 11-byte clue mask (bit i = cell i is a given, LSB first) and the
+// solution as 81 nibbles in 41 bytes (cell i in byte i / 2, high nibble for even i).
+class PuzzleBank(private val buffer: ByteBuffer) {
+
+    private val levelCount: Int
+
+    init {
+        require(buffer.capacity() >= HEADER_PREFIX_SIZE && buffer.getInt(0) == MAGIC) { "Not a puzzle bank" }
+        require(buffer.getInt(4) == VERSION) { "Unsupported puzzle bank version ${buffer.getInt(4)}" }
+        levelCount = buffer.getInt(8)
+    }
+
+    fun count(level: DifficultyLevel): Int {
+        if (level.ordinal >= levelCount) return 0
+        return buffer.getInt(HEADER_PREFIX_SIZE + level.ordinal * 8 + 4)
+    }
+
+    fun puzzle(level: DifficultyLevel, index: Int): BankPuzzle {
+        require(index in 0 until count(level)) { "No puzzle $index for $level" }
+        val first = buffer.getInt(HEADER_PREFIX_SIZE + level.ordinal * 8)
+        val offset = headerSize(levelCount) + (first + index) * RECORD_SIZE
+
+        val puzzle = IntArray(81)
+        val solution = IntArray(81)
+        for (cell in 0 until 81) {
+            val packed = buffer.get(offset + MASK_SIZE + cell / 2).toInt()
+            val digit = if (cell % 2 == 0) (packed shr 4) and 0xF else packed and 0xF
+            solution[cell] = digit
+            val isGiven = buffer.get(offset + cell / 8).toInt() and (1 shl (cell % 8)) != 0
+            if (isGiven) puzzle[cell] = digit
+        }
+        return BankPuzzle(SudokuGrid.fromCells(puzzle), SudokuGrid.fromCells(solution))
+    }
+
+    companion object {
+        const val MAGIC = 0x53444B42 // "SDKB"
+        const val VERSION = 1
+        const val MASK_SIZE = 11
+        const val SOLUTION_SIZE = 41
+        const val RECORD_SIZE = MASK_SIZE + SOLUTION_SIZE
+        private const val HEADER_PREFIX_SIZE = 12
+
+        private fun headerSize(levelCount: Int): Int = HEADER_PREFIX_SIZE + levelCount * 8
+
+        // Writes a bank holding the given puzzles for every level, in DifficultyLevel order
+        fun write(out: OutputStream, puzzles: Map<DifficultyLevel, List<BankPuzzle>>) {
+            val data = DataOutputStream(out)
+            val levels = DifficultyLevel.values()
+            data.writeInt(MAGIC)
+            data.writeInt(VERSION)
+            data.writeInt(levels.size)
+            var first = 0
+            for (level in levels) {
+                val count = puzzles[level].orEmpty().size
+                data.writeInt(first)
+                data.writeInt(count)
+                first += count
+            }
+
+            val record = ByteArray(RECORD_SIZE)
+            for (level in levels) {
+                for (puzzle in puzzles[level].orEmpty()) {
+                    record.fill(0)
+                    for (cell in 0 until 81) {
+                        val digit = puzzle.solution.valueAt(cell)
+                        require(digit in 1..9) { "Bank solutions must be complete" }
+                        val index = MASK_SIZE + cell / 2
+                        record[index] = (record[index].toInt() or if (cell % 2 == 0) digit shl 4 else digit).toByte()
+                        if (puzzle.grid.valueAt(cell) != 0) {
+                            record[cell / 8] = (record[cell / 8].toInt() or (1 shl (cell % 8))).toByte()
+                        }
+                    }
+                    data.write(record)
+                }
+            }
+            data.flush()
+        }
+    }
+}
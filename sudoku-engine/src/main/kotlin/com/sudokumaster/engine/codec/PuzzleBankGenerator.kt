@@ -0,0 +1,45 @@
+package com.sudokumaster.engine.codec
+
+import com.sudokumaster.engine.generator.PuzzleGenerator
+import com.sudokumaster.engine.model.DifficultyLevel
+import com.sudokumaster.engine.solver.BitmaskSolver
+import com.sudokumaster.engine.solver.DifficultyGrader
+import com.sudokumaster.engine.transform.PuzzleCanonicalizer
+import java.io.File
+import kotlin.random.Random
+
+// Builds the puzzle bank shipped in the app's assets (see the generatePuzzleBank task).
+// Usage: PuzzleBankGenerator <output file> <puzzles per level> [seed]
+// Only puzzles whose grade matches the level are kept, and no two are the same up to symmetry.
+fun main(args: Array<String>) {
+    require(args.size >= 2) { "Usage: PuzzleBankGenerator <output file> <puzzles per level> [seed]" }
+    val output = File(args[0])
+    val perLevel = args[1].toInt()
+    val seed = args.getOrNull(2)?.toInt() ?: 1
+
+    val generator = PuzzleGenerator(BitmaskSolver(), DifficultyGrader(), Random(seed))
+    val canonicalizer = PuzzleCanonicalizer()
+    val seen = HashSet<Long>()
+    val puzzles = DifficultyLevel.values().associateWith { level ->
+        val accepted = ArrayList<BankPuzzle>(perLevel)
+        while (accepted.size < perLevel) {
+            val generated = generator.generate(level, CELLS_TO_REMOVE.getValue(level))
+            if (generated.grade.level != level) continue
+            if (!seen.add(canonicalizer.canonicalHash(generated.grid))) continue
+            accepted.add(BankPuzzle(generated.grid, generated.solution))
+        }
+        println("$level: ${accepted.size} puzzles")
+        accepted
+    }
+
+    output.parentFile?.mkdirs()
+    output.outputStream().buffered().use { PuzzleBank.write(it, puzzles) }
+    println("Wrote ${output.length()} bytes to $output")
+}
+
+// Same clue targets as the app's difficulties
+private val CELLS_TO_REMOVE = mapOf(
+    DifficultyLevel.EASY to 35,
+    DifficultyLevel.MEDIUM to 45,
+    DifficultyLevel.HARD to 55
+)
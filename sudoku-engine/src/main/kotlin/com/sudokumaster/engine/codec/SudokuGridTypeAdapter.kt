@@ -0,0 +1,59 @@
+package com.sudokumaster.engine.codec
+
+import com.google.gson.TypeAdapter
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.google.gson.stream.JsonWriter
+import com.sudokumaster.engine.model.SudokuGrid
+
+// Streams SudokuGrid as the nested arrays the backend expects ([[5,3,null,...],...]),
+// so the wire format and the JSON already stored in Room stay unchanged.
+// An empty outer array reads as null, which is how the API reports a missing solution.
+class SudokuGridTypeAdapter : TypeAdapter<SudokuGrid>() {
+
+    override fun write(out: JsonWriter, value: SudokuGrid?) {
+        if (value == null) {
+            out.nullValue()
+            return
+        }
+        out.beginArray()
+        for (row in 0..8) {
+            out.beginArray()
+            for (col in 0..8) {
+                val cell = value.valueAt(row * 9 + col)
+                if (cell == 0) out.nullValue() else out.value(cell.toLong())
+            }
+            out.endArray()
+        }
+        out.endArray()
+    }
+
+    override fun read(reader: JsonReader): SudokuGrid? {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull()
+            return null
+        }
+
+        val cells = IntArray(SudokuGrid.CELL_COUNT)
+        var row = 0
+        reader.beginArray()
+        while (reader.hasNext()) {
+            var col = 0
+            reader.beginArray()
+            while (reader.hasNext()) {
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull()
+                } else {
+                    val value = reader.nextInt()
+                    if (row < 9 && col < 9) cells[row * 9 + col] = value
+                }
+                col++
+            }
+            reader.endArray()
+            row++
+        }
+        reader.endArray()
+
+        return if (row == 0) null else SudokuGrid.fromCells(cells)
+    }
+}
@@ -0,0 +1,110 @@
+package com.sudokumaster.engine.generator
+
+import com.sudokumaster.engine.model.DifficultyLevel
+import com.sudokumaster.engine.model.SudokuGrid
+import com.sudokumaster.engine.solver.DifficultyGrader
+import com.sudokumaster.engine.solver.PuzzleGrade
+import com.sudokumaster.engine.solver.SudokuSolver
+import kotlin.math.abs
+import kotlin.random.Random
+
+data class GeneratedPuzzle(
+    val grid: SudokuGrid,
+    val solution: SudokuGrid,
+    val grade: PuzzleGrade
+)
+
+// Generates puzzles locally so offline play never waits on the network.
+// A random full grid is built first, then clues are removed in random order
+// as long as the puzzle keeps a unique solution. Past the cellsToRemove target,
+// removal goes on until the puzzle grades at least at the requested level,
+// since random holes alone rarely call for more than singles. The first
+// candidate whose grade matches the level wins; otherwise the closest is kept.
+class PuzzleGenerator(
+    private val solver: SudokuSolver,
+    private val grader: DifficultyGrader,
+    private val random: Random = Random.Default
+) {
+
+    private class Candidate(
+        val puzzle: IntArray,
+        val solution: IntArray,
+        val grade: PuzzleGrade,
+        val reachedTarget: Boolean,
+        val gradeDistance: Int
+    )
+
+    fun generate(level: DifficultyLevel, cellsToRemove: Int): GeneratedPuzzle {
+        var best: Candidate? = null
+
+        for (attempt in 0 until MAX_ATTEMPTS) {
+            val solution = createSolvedCells()
+            val puzzle = solution.copyOf()
+            val removed = removeClues(puzzle, cellsToRemove, level)
+            val grade = grader.gradeCells(puzzle)
+            val candidate = Candidate(
+                puzzle = puzzle,
+                solution = solution,
+                grade = grade,
+                reachedTarget = removed >= cellsToRemove,
+                gradeDistance = abs(grade.level.ordinal - level.ordinal)
+            )
+            if (best == null || isBetter(candidate, best)) best = candidate
+            if (candidate.reachedTarget && candidate.gradeDistance == 0) break
+        }
+
+        val chosen = best!!
+        return GeneratedPuzzle(
+            grid = SudokuGrid.fromCells(chosen.puzzle),
+            solution = SudokuGrid.fromCells(chosen.solution),
+            grade = chosen.grade
+        )
+    }
+
+    private fun isBetter(candidate: Candidate, current: Candidate): Boolean {
+        if (candidate.reachedTarget != current.reachedTarget) return candidate.reachedTarget
+        return candidate.gradeDistance < current.gradeDistance
+    }
+
+    private fun createSolvedCells(): IntArray {
+        // The three diagonal boxes do not constrain each other, so they can be
+        // filled with independent random permutations before solving the rest.
+        // Such a seed always completes; a solver that still fails gets a fresh seed,
+        // and holes are never carved into a partial grid.
+        repeat(MAX_SEED_ATTEMPTS) {
+            val cells = IntArray(81)
+            for (box in 0..2) {
+                val digits = (1..9).shuffled(random)
+                for (i in 0..8) {
+                    val row = box * 3 + i / 3
+                    val col = box * 3 + i % 3
+                    cells[row * 9 + col] = digits[i]
+                }
+            }
+            if (solver.solveCells(cells)) return cells
+        }
+        throw IllegalStateException("Solver could not complete $MAX_SEED_ATTEMPTS seeded grids")
+    }
+
+    // Blanks cells in random order while the solution stays unique, stopping once `target`
+    // cells are blank and the puzzle grades at least at `level`. Returns how many were removed.
+    private fun removeClues(cells: IntArray, target: Int, level: DifficultyLevel): Int {
+        var removed = 0
+        for (cell in (0 until 81).shuffled(random)) {
+            val value = cells[cell]
+            cells[cell] = 0
+            if (solver.countSolutionsCells(cells, 2) != 1) {
+                cells[cell] = value
+                continue
+            }
+            removed++
+            if (removed >= target && grader.gradeCells(cells).level >= level) break
+        }
+        return removed
+    }
+
+    companion object {
+        private const val MAX_ATTEMPTS = 20
+        private const val MAX_SEED_ATTEMPTS = 3
+    }
+}
@@ -0,0 +1,141 @@
+package com.sudokumaster.engine.history
+
+import com.sudokumaster.engine.model.PencilMarks
+import com.sudokumaster.engine.solver.SudokuGeometry.PEERS
+
+// Undo/redo history of cell edits kept in ring buffers of Ints. Each move packs the cell
+// and its old and new values into one Int and its note change into a second, so the
+// default 4096 moves take 32 KB and recording, undoing and redoing are all O(1). When the
+// buffer is full the oldest move is dropped. Recording a new move discards anything
+// redoable.
+//
+// The note change of a move (a note toggle, or a placement that clears notes) is the bits
+// it flipped in the cell's own mask plus which of the 20 peers lost the placed digit. A
+// flip is its own inverse, so the same Int both undoes and redoes the change.
+// Not thread-safe; use it from the thread that applies moves.
+class MoveJournal(val capacity: Int = DEFAULT_CAPACITY) {
+
+    init {
+        require(capacity > 0) { "Capacity must be positive: $capacity" }
+    }
+
+    private val moves = IntArray(capacity)
+
+    // Note change of each move, parallel to `moves`; 0 when the move left the notes alone
+    private val noteFlips = IntArray(capacity)
+
+    // Index of the oldest move kept
+    private var start = 0
+
+    // Moves that can be undone, then moves after them that can be redone
+    private var undoCount = 0
+    private var redoCount = 0
+
+    val canUndo: Boolean
+        get() = undoCount > 0
+
+    val canRedo: Boolean
+        get() = redoCount > 0
+
+    // Note change of the move last returned by undo() or redo()
+    private var steppedMove = NONE
+    private var steppedFlip = 0
+
+    // Records a move; `oldNotes` and `newNotes` are the notes before and after it. Besides
+    // the cell's own notes, a move may only take the digit it places out of its peers'
+    // notes. A move that changes neither the value nor the notes is not recorded.
+    fun record(
+        cell: Int,
+        oldValue: Int,
+        newValue: Int,
+        oldNotes: PencilMarks? = null,
+        newNotes: PencilMarks? = oldNotes
+    ) {
+        val flip = if (oldNotes == null || newNotes == null || oldNotes === newNotes) 0
+        else noteFlip(cell, newValue, oldNotes, newNotes)
+        if (oldValue == newValue && flip == 0) return
+        redoCount = 0
+        if (undoCount == capacity) {
+            start = (start + 1) % capacity
+            undoCount--
+        }
+        val slot = (start + undoCount) % capacity
+        moves[slot] = encode(cell, oldValue, newValue)
+        noteFlips[slot] = flip
+        undoCount++
+    }
+
+    // Steps back one move and returns it, or NONE; apply its old value and stepNotes()
+    // to undo it
+    fun undo(): Int {
+        if (undoCount == 0) return step(-1)
+        undoCount--
+        redoCount++
+        return step((start + undoCount) % capacity)
+    }
+
+    // Steps forward one move and returns it, or NONE; apply its new value and stepNotes()
+    // to redo it
+    fun redo(): Int {
+        if (redoCount == 0) return step(-1)
+        val slot = (start + undoCount) % capacity
+        undoCount++
+        redoCount--
+        return step(slot)
+    }
+
+    // `notes` with the note change of the move last returned by undo() or redo() undone
+    // or redone; the same instance when that move did not touch the notes
+    fun stepNotes(notes: PencilMarks): PencilMarks {
+        if (steppedMove == NONE) return notes
+        val cell = cellOf(steppedMove)
+        return notes.flip(cell, steppedFlip and CELL_FLIP_MASK, steppedFlip ushr 9, newValueOf(steppedMove))
+    }
+
+    fun clear() {
+        start = 0
+        undoCount = 0
+        redoCount = 0
+        steppedMove = NONE
+    }
+
+    // Makes the move in `slot` the one stepNotes() applies; -1 for none
+    private fun step(slot: Int): Int {
+        steppedMove = if (slot < 0) NONE else moves[slot]
+        steppedFlip = if (slot < 0) 0 else noteFlips[slot]
+        return steppedMove
+    }
+
+    // Bits 0-8 flip the cell's own mask; bit 9 + i means PEERS[cell][i] lost `placed`
+    private fun noteFlip(cell: Int, placed: Int, oldNotes: PencilMarks, newNotes: PencilMarks): Int {
+        var flip = oldNotes.maskAt(cell) xor newNotes.maskAt(cell)
+        val peers = PEERS[cell]
+        for (i in peers.indices) {
+            val changed = oldNotes.maskAt(peers[i]) xor newNotes.maskAt(peers[i])
+            if (changed == 0) continue
+            require(placed != 0 && changed == 1 shl (placed - 1)) {
+                "Move at cell $cell changed notes of peer ${peers[i]} beyond the placed digit"
+            }
+            flip = flip or (1 shl (9 + i))
+        }
+        return flip
+    }
+
+    companion object {
+        const val DEFAULT_CAPACITY = 4096
+        const val NONE = -1
+
+        private const val CELL_FLIP_MASK = 0x1FF
+
+        // Bits 0-6 cell, 7-10 old value, 11-14 new value
+        fun encode(cell: Int, oldValue: Int, newValue: Int): Int {
+            return cell or (oldValue shl 7) or (newValue shl 11)
+        }
+
+        fun cellOf(move: Int): Int = move and 0x7F
+
+        fun oldValueOf(move: Int): Int = (move ushr 7) and 0xF
+
+        fun newValueOf(move: Int): Int = (move ushr 11) and 0xF
+    }
+}
@@ -0,0 +1,52 @@
+package com.sudokumaster.engine.model
+
+// Immutable set of board cells (flat 0..80 indices) packed into two 64-bit words:
+// cells 0..63 in `low`, cells 64..80 in `high`. Adding or removing a cell that does not
+// change the set returns the same instance, so StateFlow sees no new value.
+class CellSet private constructor(
+    private val low: Long,
+    private val high: Long
+) {
+
+    operator fun contains(cell: Int): Boolean {
+        return if (cell < 64) low and (1L shl cell) != 0L else high and (1L shl (cell - 64)) != 0L
+    }
+
+    fun contains(row: Int, col: Int): Boolean = contains(row * 9 + col)
+
+    operator fun plus(cell: Int): CellSet {
+        return if (cell < 64) of(low or (1L shl cell), high) else of(low, high or (1L shl (cell - 64)))
+    }
+
+    // Union of both sets
+    operator fun plus(other: CellSet): CellSet = of(low or other.low, high or other.high)
+
+    operator fun minus(cell: Int): CellSet {
+        return if (cell < 64) of(low and (1L shl cell).inv(), high) else of(low, high and (1L shl (cell - 64)).inv())
+    }
+
+    val size: Int
+        get() = java.lang.Long.bitCount(low) + java.lang.Long.bitCount(high)
+
+    fun isEmpty(): Boolean = low == 0L && high == 0L
+
+    private fun of(newLow: Long, newHigh: Long): CellSet {
+        if (newLow == low && newHigh == high) return this
+        if (newLow == 0L && newHigh == 0L) return EMPTY
+        return CellSet(newLow, newHigh)
+    }
+
+    override fun equals(other: Any?): Boolean {
+        return other is CellSet && low == other.low && high == other.high
+    }
+
+    override fun hashCode(): Int = (low xor (low ushr 32) xor high).toInt()
+
+    override fun toString(): String {
+        return (0 until SudokuGrid.CELL_COUNT).filter { contains(it) }.joinToString(prefix = "CellSet[", postfix = "]")
+    }
+
+    companion object {
+        val EMPTY = CellSet(0L, 0L)
+    }
+}
@@ -0,0 +1,8 @@
+package com.sudokumaster.engine.model
+
+// Difficulty bands the engine grades and generates for, from easiest to hardest
+enum class DifficultyLevel {
+    EASY,
+    MEDIUM,
+    HARD
+}
@@ -0,0 +1,106 @@
+package com.sudokumaster.engine.model
+
+import com.sudokumaster.engine.solver.SudokuGeometry.PEERS
+
+// Immutable pencil-mark notes for the 81 cells: one 9-bit mask per cell, bit d-1 set when
+// digit d is noted. Edits copy the 162-byte mask array only when a mask actually changes
+// and otherwise return the same instance. toBytes() packs the masks into 92 bytes for
+// saved games.
+class PencilMarks private constructor(private val masks: ShortArray) {
+
+    // 9-bit note mask of a cell
+    fun maskAt(cell: Int): Int = masks[cell].toInt()
+
+    fun has(cell: Int, digit: Int): Boolean = maskAt(cell) and (1 shl (digit - 1)) != 0
+
+    fun isEmpty(): Boolean = masks.all { it.toInt() == 0 }
+
+    fun toggle(cell: Int, digit: Int): PencilMarks {
+        require(digit in 1..9) { "Invalid digit: $digit" }
+        val copy = masks.copyOf()
+        copy[cell] = (maskAt(cell) xor (1 shl (digit - 1))).toShort()
+        return PencilMarks(copy)
+    }
+
+    fun clear(cell: Int): PencilMarks {
+        if (masks[cell].toInt() == 0) return this
+        val copy = masks.copyOf()
+        copy[cell] = 0
+        return PencilMarks(copy)
+    }
+
+    // Notes after `digit` is placed in `cell`: the cell's own notes go, and the digit is
+    // removed from the notes of its 20 peers
+    fun place(cell: Int, digit: Int): PencilMarks {
+        val bit = 1 shl (digit - 1)
+        var copy: ShortArray? = null
+        if (masks[cell].toInt() != 0) {
+            copy = masks.copyOf()
+            copy[cell] = 0
+        }
+        for (peer in PEERS[cell]) {
+            val mask = masks[peer].toInt()
+            if (mask and bit == 0) continue
+            if (copy == null) copy = masks.copyOf()
+            copy[peer] = (mask and bit.inv()).toShort()
+        }
+        return if (copy == null) this else PencilMarks(copy)
+    }
+
+    // Notes with `cellBits` flipped in the mask of `cell` and `digit` flipped in every peer
+    // whose index in PEERS[cell] is set in `peerBits`. Applying the same flip twice gives
+    // the notes back, which is how the move journal undoes and redoes note changes.
+    fun flip(cell: Int, cellBits: Int, peerBits: Int, digit: Int): PencilMarks {
+        if (cellBits == 0 && peerBits == 0) return this
+        val copy = masks.copyOf()
+        copy[cell] = (maskAt(cell) xor cellBits).toShort()
+        if (peerBits != 0) {
+            val bit = 1 shl (digit - 1)
+            val peers = PEERS[cell]
+            for (i in peers.indices) {
+                if (peerBits and (1 shl i) != 0) copy[peers[i]] = (maskAt(peers[i]) xor bit).toShort()
+            }
+        }
+        return PencilMarks(copy)
+    }
+
+    // 81 x 9 bits, cell 0 first, least significant bit of each byte first
+    fun toBytes(): ByteArray {
+        val bytes = ByteArray(PACKED_SIZE)
+        for (cell in 0 until SudokuGrid.CELL_COUNT) {
+            val mask = masks[cell].toInt()
+            for (bit in 0 until 9) {
+                if (mask and (1 shl bit) == 0) continue
+                val position = cell * 9 + bit
+                bytes[position / 8] = (bytes[position / 8].toInt() or (1 shl (position % 8))).toByte()
+            }
+        }
+        return bytes
+    }
+
+    override fun equals(other: Any?): Boolean {
+        return this === other || (other is PencilMarks && masks.contentEquals(other.masks))
+    }
+
+    override fun hashCode(): Int = masks.contentHashCode()
+
+    companion object {
+        const val PACKED_SIZE = 92
+
+        val EMPTY = PencilMarks(ShortArray(SudokuGrid.CELL_COUNT))
+
+        fun fromBytes(bytes: ByteArray): PencilMarks {
+            require(bytes.size == PACKED_SIZE) { "Expected $PACKED_SIZE bytes, got ${bytes.size}" }
+            val masks = ShortArray(SudokuGrid.CELL_COUNT)
+            for (cell in 0 until SudokuGrid.CELL_COUNT) {
+                var mask = 0
+                for (bit in 0 until 9) {
+                    val position = cell * 9 + bit
+                    if (bytes[position / 8].toInt() and (1 shl (position % 8)) != 0) mask = mask or (1 shl bit)
+                }
+                masks[cell] = mask.toShort()
+            }
+            return PencilMarks(masks)
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.sudokumaster.engine.model
+
+// Immutable 9x9 Sudoku grid (0 = empty cell, row-major cell indices 0..80).
+//
+// Grids are persistent snapshots: a grid is either a base holding all 81 bytes, or a
+// one-cell delta on top of a parent grid. with() returns a new delta that shares its
+// parent's storage, so a move allocates one small object instead of copying the board.
+// Chains are capped at MAX_DEPTH deltas; the move after that flattens into a fresh base,
+// which bounds both lookup cost and how many older snapshots a grid keeps reachable.
+// Every snapshot is immutable, so grids can be shared freely between StateFlows, records
+// and background work.
+class SudokuGrid private constructor(
+    // All 81 values for a base grid; null for a delta
+    private val cells: ByteArray?,
+    private val parent: SudokuGrid?,
+    private val changedCell: Int,
+    private val changedValue: Int,
+    private val depth: Int,
+    val filledCount: Int,
+    // Same value as cells.contentHashCode(), maintained incrementally
+    private val hash: Int
+) {
+
+    operator fun get(row: Int, col: Int): Int? {
+        val value = valueAt(row * 9 + col)
+        return if (value == 0) null else value
+    }
+
+    // Value at a flat 0..80 index, 0 when the cell is empty
+    fun valueAt(cell: Int): Int {
+        var grid = this
+        while (true) {
+            val base = grid.cells
+            if (base != null) return base[cell].toInt()
+            if (grid.changedCell == cell) return grid.changedValue
+            grid = grid.parent!!
+        }
+    }
+
+    // Returns a grid with one cell changed (null erases); returns this grid if nothing changes
+    fun with(row: Int, col: Int, value: Int?): SudokuGrid {
+        val index = row * 9 + col
+        val newValue = value ?: 0
+        require(newValue in 0..9) { "Invalid cell value: $value" }
+        val previous = valueAt(index)
+        if (previous == newValue) return this
+
+        val filled = filledCount + (if (newValue != 0) 1 else 0) - (if (previous != 0) 1 else 0)
+        val newHash = hash + (newValue - previous) * HASH_WEIGHTS[index]
+        if (depth == MAX_DEPTH) {
+            val copy = ByteArray(CELL_COUNT)
+            copyInto(copy)
+            copy[index] = newValue.toByte()
+            return SudokuGrid(copy, null, -1, 0, 0, filled, newHash)
+        }
+        return SudokuGrid(null, this, index, newValue, depth + 1, filled, newHash)
+    }
+
+    val isComplete: Boolean
+        get() = filledCount == CELL_COUNT
+
+    // True when this grid is a complete, valid board that keeps every given of `puzzle`
+    fun isSolutionOf(puzzle: SudokuGrid): Boolean {
+        if (!isComplete) return false
+        val values = toCells()
+        val rowSeen = IntArray(9)
+        val colSeen = IntArray(9)
+        val boxSeen = IntArray(9)
+        for (index in 0 until CELL_COUNT) {
+            val value = values[index]
+            val given = puzzle.valueAt(index)
+            if (given != 0 && given != value) return false
+
+            val bit = 1 shl value
+            val row = index / 9
+            val col = index % 9
+            val box = (row / 3) * 3 + col / 3
+            if ((rowSeen[row] or colSeen[col] or boxSeen[box]) and bit != 0) return false
+            rowSeen[row] = rowSeen[row] or bit
+            colSeen[col] = colSeen[col] or bit
+            boxSeen[box] = boxSeen[box] or bit
+        }
+        return true
+    }
+
+    // Flat 81-cell copy for the solver engines (0 = empty)
+    fun toCells(): IntArray {
+        val bytes = ByteArray(CELL_COUNT)
+        copyInto(bytes)
+        return IntArray(CELL_COUNT) { bytes[it].toInt() }
+    }
+
+    // 81 nibbles in 41 bytes, cell i in byte i / 2, high nibble for even i (the puzzle
+    // bank's solution layout)
+    fun toBytes(): ByteArray {
+        val values = ByteArray(CELL_COUNT)
+        copyInto(values)
+        val packed = ByteArray(PACKED_SIZE)
+        for (cell in 0 until CELL_COUNT) {
+            val value = values[cell].toInt()
+            val shift = if (cell % 2 == 0) 4 else 0
+            packed[cell / 2] = (packed[cell / 2].toInt() or (value shl shift)).toByte()
+        }
+        return packed
+    }
+
+    // Writes the base values, then replays the deltas oldest first
+    private fun copyInto(target: ByteArray) {
+        val base = cells
+        if (base != null) {
+            base.copyInto(target)
+            return
+        }
+        parent!!.copyInto(target)
+        target[changedCell] = changedValue.toByte()
+    }
+
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (other !is SudokuGrid) return false
+        if (hash != other.hash || filledCount != other.filledCount) return false
+        for (cell in 0 until CELL_COUNT) {
+            if (valueAt(cell) != other.valueAt(cell)) return false
+        }
+        return true
+    }
+
+    override fun hashCode(): Int = hash
+
+    override fun toString(): String {
+        val builder = StringBuilder(CELL_COUNT)
+        for (value in toCells()) builder.append(if (value == 0) '.' else ('0' + value))
+        return builder.toString()
+    }
+
+    companion object {
+        const val CELL_COUNT = 81
+        const val PACKED_SIZE = 41
+
+        // Deltas allowed on top of a base before with() flattens
+        private const val MAX_DEPTH = 16
+
+        // 31^(80 - i): how much cell i contributes to contentHashCode()
+        private val HASH_WEIGHTS = IntArray(CELL_COUNT).also {
+            var weight = 1
+            for (i in CELL_COUNT - 1 downTo 0) {
+                it[i] = weight
+                weight *= 31
+            }
+        }
+
+        val EMPTY = base(ByteArray(CELL_COUNT))
+
+        // Builds a grid from a flat 81-cell board (0 = empty)
+        fun fromCells(cells: IntArray): SudokuGrid {
+            require(cells.size == CELL_COUNT) { "Expected $CELL_COUNT cells, got ${cells.size}" }
+            val bytes = ByteArray(CELL_COUNT)
+            for (i in 0 until CELL_COUNT) {
+                val value = cells[i]
+                require(value in 0..9) { "Invalid cell value at $i: $value" }
+                bytes[i] = value.toByte()
+            }
+            return base(bytes)
+        }
+
+        // Reads the toBytes() encoding
+        fun fromBytes(packed: ByteArray): SudokuGrid {
+            require(packed.size == PACKED_SIZE) { "Expected $PACKED_SIZE bytes, got ${packed.size}" }
+            val bytes = ByteArray(CELL_COUNT)
+            for (cell in 0 until CELL_COUNT) {
+                val byte = packed[cell / 2].toInt()
+                val value = if (cell % 2 == 0) (byte shr 4) and 0xF else byte and 0xF
+                require(value <= 9) { "Invalid cell value at $cell: $value" }
+                bytes[cell] = value.toByte()
+            }
+            return base(bytes)
+        }
+
+        private fun base(bytes: ByteArray): SudokuGrid {
+            return SudokuGrid(bytes, null, -1, 0, 0, bytes.count { it.toInt() != 0 }, bytes.contentHashCode())
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.sudokumaster.engine.solver
+
+import com.sudokumaster.engine.model.SudokuGrid
+import com.sudokumaster.engine.solver.SudokuGeometry.ALL_DIGITS
+import com.sudokumaster.engine.solver.SudokuGeometry.BOX_OF
+import com.sudokumaster.engine.solver.SudokuGeometry.CELL_COUNT
+import com.sudokumaster.engine.solver.SudokuGeometry.COL_OF
+import com.sudokumaster.engine.solver.SudokuGeometry.ROW_OF
+import com.sudokumaster.engine.solver.SudokuGeometry.UNITS
+import com.sudokumaster.engine.solver.SudokuGeometry.UNIT_COUNT
+
+// Constraint-propagation solver working on flat 81-cell boards.
+// Row, column and box usage is tracked as 9-bit masks (bit d-1 set = digit d used),
+// naked and hidden singles are applied before every branch and the search always
+// branches on the empty cell with the fewest candidates.
+class BitmaskSolver : SudokuSolver {
+
+    override fun solveCells(cells: IntArray): Boolean {
+        val search = Search(limit = 1)
+        if (!search.load(cells)) return false
+        if (!search.run()) return false
+        search.cells.copyInto(cells)
+        return true
+    }
+
+    override fun countSolutionsCells(cells: IntArray, limit: Int): Int {
+        val search = Search(limit)
+        if (!search.load(cells)) return 0
+        search.run()
+        return search.solutions
+    }
+
+    // Counts up to two solutions and keeps the first, so uniqueness and the answer come
+    // from a single search
+    override fun uniqueSolution(grid: SudokuGrid): SudokuGrid? {
+        val search = Search(limit = 2)
+        if (!search.load(grid.toCells())) return null
+        search.run()
+        if (search.solutions != 1) return null
+        return SudokuGrid.fromCells(search.first)
+    }
+
+    // Stops as soon as `limit` solutions have been found; the board then holds the last one
+    private class Search(private val limit: Int) {
+        val cells = IntArray(CELL_COUNT)
+        var solutions = 0
+
+        // Copy of the first solution found
+        val first = IntArray(CELL_COUNT)
+        private val rowUsed = IntArray(9)
+        private val colUsed = IntArray(9)
+        private val boxUsed = IntArray(9)
+
+        // Cells assigned during search, so a failed branch can be rolled back without copying the board
+        private val trail = IntArray(CELL_COUNT)
+        private var trailSize = 0
+
+        // Per-unit digit sightings used while looking for hidden singles
+        private val seenOnce = IntArray(UNIT_COUNT)
+        private val seenTwice = IntArray(UNIT_COUNT)
+
+        fun load(source: IntArray): Boolean {
+            for (cell in 0 until CELL_COUNT) {
+                val value = source[cell]
+                if (value == 0) continue
+                if (value !in 1..9) return false
+                val bit = 1 shl (value - 1)
+                if (candidates(cell) and bit == 0) return false
+                place(cell, bit)
+            }
+            // Givens are never undone
+            trailSize = 0
+            return true
+        }
+
+        // Returns true once the solution limit has been reached
+        fun run(): Boolean {
+            val mark = trailSize
+            if (!propagate()) {
+                undo(mark)
+                return false
+            }
+
+            var best = -1
+            var bestCount = 10
+            for (cell in 0 until CELL_COUNT) {
+                if (cells[cell] != 0) continue
+                val count = Integer.bitCount(candidates(cell))
+                if (count < bestCount) {
+                    best = cell
+                    bestCount = count
+                    if (count == 2) break
+                }
+            }
+            if (best < 0) {
+                solutions++
+                if (solutions == 1) cells.copyInto(first)
+                if (solutions >= limit) return true
+                undo(mark)
+                return false
+            }
+
+            var remaining = candidates(best)
+            while (remaining != 0) {
+                val bit = remaining and -remaining
+                remaining = remaining xor bit
+                val branchMark = trailSize
+                assign(best, bit)
+                if (run()) return true
+                undo(branchMark)
+            }
+
+            undo(mark)
+            return false
+        }
+
+        // Applies naked and hidden singles until nothing changes. Returns false on contradiction.
+        // One pass over the cells finds naked singles and, per unit, the digits seen once and
+        // seen at least twice; digits seen exactly once are hidden singles.
+        private fun propagate(): Boolean {
+            while (true) {
+                var changed = false
+                seenOnce.fill(0)
+                seenTwice.fill(0)
+
+                for (cell in 0 until CELL_COUNT) {
+                    if (cells[cell] != 0) continue
+                    val candidates = candidates(cell)
+                    if (candidates == 0) return false
+                    if (candidates and (candidates - 1) == 0) {
+                        assign(cell, candidates)
+                        changed = true
+                        continue
+                    }
+                    val row = ROW_OF[cell]
+                    val col = COL_OF[cell] + 9
+                    val box = BOX_OF[cell] + 18
+                    seenTwice[row] = seenTwice[row] or (seenOnce[row] and candidates)
+                    seenOnce[row] = seenOnce[row] or candidates
+                    seenTwice[col] = seenTwice[col] or (seenOnce[col] and candidates)
+                    seenOnce[col] = seenOnce[col] or candidates
+                    seenTwice[box] = seenTwice[box] or (seenOnce[box] and candidates)
+                    seenOnce[box] = seenOnce[box] or candidates
+                }
+
+                for (unit in 0 until UNIT_COUNT) {
+                    val placed = when {
+                        unit < 9 -> rowUsed[unit]
+                        unit < 18 -> colUsed[unit - 9]
+                        else -> boxUsed[unit - 18]
+                    }
+                    if ((seenOnce[unit] or placed) != ALL_DIGITS) return false
+
+                    var hidden = seenOnce[unit] and (seenTwice[unit] or placed).inv()
+                    while (hidden != 0) {
+                        val bit = hidden and -hidden
+                        hidden = hidden xor bit
+                        for (cell in UNITS[unit]) {
+                            if (cells[cell] == 0 && candidates(cell) and bit != 0) {
+                                assign(cell, bit)
+                                changed = true
+                                break
+                            }
+                        }
+                    }
+                }
+
+                if (!changed) return true
+            }
+        }
+
+        private fun candidates(cell: Int): Int {
+            return ALL_DIGITS and (rowUsed[ROW_OF[cell]] or colUsed[COL_OF[cell]] or boxUsed[BOX_OF[cell]]).inv()
+        }
+
+        private fun place(cell: Int, bit: Int) {
+            cells[cell] = Integer.numberOfTrailingZeros(bit) + 1
+            rowUsed[ROW_OF[cell]] = rowUsed[ROW_OF[cell]] or bit
+            colUsed[COL_OF[cell]] = colUsed[COL_OF[cell]] or bit
+            boxUsed[BOX_OF[cell]] = boxUsed[BOX_OF[cell]] or bit
+        }
+
+        private fun assign(cell: Int, bit: Int) {
+            place(cell, bit)
+            trail[trailSize++] = cell
+        }
+
+        private fun undo(mark: Int) {
+            while (trailSize > mark) {
+                val cell = trail[--trailSize]
+                val bit = (1 shl (cells[cell] - 1)).inv()
+                rowUsed[ROW_OF[cell]] = rowUsed[ROW_OF[cell]] and bit
+                colUsed[COL_OF[cell]] = colUsed[COL_OF[cell]] and bit
+                boxUsed[BOX_OF[cell]] = boxUsed[BOX_OF[cell]] and bit
+                cells[cell] = 0
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.sudokumaster.engine.solver
+
+// Algorithm X over the 729 x 324 exact-cover matrix, using Dancing Links.
+// Columns are the four constraint families (cell filled, row has digit, column has digit,
+// box has digit); each of the 729 rows places one digit in one cell and covers four columns.
+// Nodes live in flat int arrays copied from a prebuilt template, so each solve starts
+// from a fresh matrix without rebuilding the links.
+class DancingLinksSolver : SudokuSolver {
+
+    override fun solveCells(cells: IntArray): Boolean {
+        val matrix = Matrix(limit = 1)
+        if (!matrix.selectGivens(cells)) return false
+        if (!matrix.search()) return false
+        for (i in 0 until matrix.depth) {
+            val row = ROW_OF_NODE[matrix.solution[i]]
+            cells[row / 9] = row % 9 + 1
+        }
+        return true
+    }
+
+    override fun countSolutionsCells(cells: IntArray, limit: Int): Int {
+        val matrix = Matrix(limit)
+        if (!matrix.selectGivens(cells)) return 0
+        matrix.search()
+        return matrix.solutions
+    }
+
+    // Stops as soon as `limit` solutions have been found; `solution` then holds the last one
+    private class Matrix(private val limit: Int) {
+        private val left = TEMPLATE_LEFT.copyOf()
+        private val right = TEMPLATE_RIGHT.copyOf()
+        private val up = TEMPLATE_UP.copyOf()
+        private val down = TEMPLATE_DOWN.copyOf()
+        private val size = TEMPLATE_SIZE.copyOf()
+        private val covered = BooleanArray(COLUMN_COUNT + 1)
+
+        // Nodes of the rows chosen so far; givens come first
+        val solution = IntArray(81)
+        var depth = 0
+        var solutions = 0
+
+        fun selectGivens(cells: IntArray): Boolean {
+            for (cell in 0 until 81) {
+                val value = cells[cell]
+                if (value == 0) continue
+                if (value !in 1..9) return false
+                val node = FIRST_NODE + (cell * 9 + value - 1) * 4
+                // A given whose constraints are already satisfied conflicts with an earlier given
+                for (k in 0 until 4) {
+                    if (covered[COLUMN_OF_NODE[node + k]]) return false
+                }
+                for (k in 0 until 4) {
+                    cover(COLUMN_OF_NODE[node + k])
+                }
+                solution[depth++] = node
+            }
+            return true
+        }
+
+        // Returns true once the solution limit has been reached
+        fun search(): Boolean {
+            if (right[ROOT] == ROOT) {
+                solutions++
+                return solutions >= limit
+            }
+
+            // Branch on the column with the fewest remaining rows
+            var column = right[ROOT]
+            var best = column
+            var bestSize = Int.MAX_VALUE
+            while (column != ROOT) {
+                if (size[column] < bestSize) {
+                    best = column
+                    bestSize = size[column]
+                    if (bestSize <= 1) break
+                }
+                column = right[column]
+            }
+            if (bestSize == 0) return false
+
+            cover(best)
+            var rowNode = down[best]
+            while (rowNode != best) {
+                solution[depth++] = rowNode
+                var node = right[rowNode]
+                while (node != rowNode) {
+                    cover(COLUMN_OF_NODE[node])
+                    node = right[node]
+                }
+
+                if (search()) return true
+
+                node = left[rowNode]
+                while (node != rowNode) {
+                    uncover(COLUMN_OF_NODE[node])
+                    node = left[node]
+                }
+                depth--
+                rowNode = down[rowNode]
+            }
+            uncover(best)
+            return false
+        }
+
+        private fun cover(column: Int) {
+            covered[column] = true
+            right[left[column]] = right[column]
+            left[right[column]] = left[column]
+            var rowNode = down[column]
+            while (rowNode != column) {
+                var node = right[rowNode]
+                while (node != rowNode) {
+                    down[up[node]] = down[node]
+                    up[down[node]] = up[node]
+                    size[COLUMN_OF_NODE[node]]--
+                    node = right[node]
+                }
+                rowNode = down[rowNode]
+            }
+        }
+
+        private fun uncover(column: Int) {
+            var rowNode = up[column]
+            while (rowNode != column) {
+                var node = left[rowNode]
+                while (node != rowNode) {
+                    size[COLUMN_OF_NODE[node]]++
+                    down[up[node]] = node
+                    up[down[node]] = node
+                    node = left[node]
+                }
+                rowNode = up[rowNode]
+            }
+            right[left[column]] = column
+            left[right[column]] = column
+            covered[column] = false
+        }
+    }
+
+    companion object {
+        private const val ROOT = 0
+        private const val COLUMN_COUNT = 324
+        private const val ROW_COUNT = 729
+        private const val FIRST_NODE = COLUMN_COUNT + 1
+        private const val NODE_COUNT = FIRST_NODE + ROW_COUNT * 4
+
+        private val TEMPLATE_LEFT = IntArray(NODE_COUNT)
+        private val TEMPLATE_RIGHT = IntArray(NODE_COUNT)
+        private val TEMPLATE_UP = IntArray(NODE_COUNT)
+        private val TEMPLATE_DOWN = IntArray(NODE_COUNT)
+        private val TEMPLATE_SIZE = IntArray(COLUMN_COUNT + 1)
+        private val COLUMN_OF_NODE = IntArray(NODE_COUNT)
+        private val ROW_OF_NODE = IntArray(NODE_COUNT)
+
+        init {
+            // Header ring: root followed by the 324 column headers
+            for (column in 0..COLUMN_COUNT) {
+                TEMPLATE_LEFT[column] = if (column == 0) COLUMN_COUNT else column - 1
+                TEMPLATE_RIGHT[column] = if (column == COLUMN_COUNT) 0 else column + 1
+                TEMPLATE_UP[column] = column
+                TEMPLATE_DOWN[column] = column
+                COLUMN_OF_NODE[column] = column
+            }
+
+            for (row in 0 until ROW_COUNT) {
+                val cell = row / 9
+                val digit = row % 9
+                val r = cell / 9
+                val c = cell % 9
+                val box = (r / 3) * 3 + c / 3
+                val columns = intArrayOf(
+                    1 + cell,
+                    1 + 81 + r * 9 + digit,
+                    1 + 162 + c * 9 + digit,
+                    1 + 243 + box * 9 + digit
+                )
+                val first = FIRST_NODE + row * 4
+                for (k in 0 until 4) {
+                    val node = first + k
+                    val column = columns[k]
+                    COLUMN_OF_NODE[node] = column
+                    ROW_OF_NODE[node] = row
+                    TEMPLATE_LEFT[node] = first + (k + 3) % 4
+                    TEMPLATE_RIGHT[node] = first + (k + 1) % 4
+
+                    // Append at the bottom of the column
+                    TEMPLATE_UP[node] = TEMPLATE_UP[column]
+                    TEMPLATE_DOWN[node] = column
+                    TEMPLATE_DOWN[TEMPLATE_UP[column]] = node
+                    TEMPLATE_UP[column] = node
+                    TEMPLATE_SIZE[column]++
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.sudokumaster.engine.solver
+
+import com.sudokumaster.engine.model.DifficultyLevel
+import com.sudokumaster.engine.model.SudokuGrid
+
+data class PuzzleGrade(
+    val score: Int,
+    val solvedLogically: Boolean,
+    val techniqueCounts: Map<SolvingTechnique, Int>
+) {
+    val hardestTechnique: SolvingTechnique?
+        get() = techniqueCounts.keys.maxByOrNull { it.ordinal }
+
+    // Set by the hardest technique needed: singles only is Easy however many cells are
+    // blank; locked candidates or pairs make it Medium; fish, wings or anything beyond the
+    // logical solver make it Hard.
+    val level: DifficultyLevel
+        get() {
+            val hardest = hardestTechnique
+            return when {
+                !solvedLogically -> DifficultyLevel.HARD
+                hardest == null || hardest <= SolvingTechnique.HIDDEN_SINGLE -> DifficultyLevel.EASY
+                hardest <= SolvingTechnique.HIDDEN_PAIR -> DifficultyLevel.MEDIUM
+                else -> DifficultyLevel.HARD
+            }
+        }
+}
+
+// Grades puzzles by running the logical solver. The score weights every step beyond
+// singles, so it tells puzzles of one level apart without growing with the blank count.
+class DifficultyGrader(
+    private val logicalSolver: LogicalSolver = LogicalSolver()
+) {
+
+    fun grade(grid: SudokuGrid): PuzzleGrade {
+        return gradeCells(grid.toCells())
+    }
+
+    fun gradeCells(cells: IntArray): PuzzleGrade {
+        val result = logicalSolver.solve(cells)
+        var score = result.techniqueCounts.entries
+            .filter { (technique, _) -> technique > SolvingTechnique.HIDDEN_SINGLE }
+            .sumOf { (technique, count) -> technique.weight * count }
+        if (!result.solved) score += UNSOLVED_PENALTY
+
+        return PuzzleGrade(
+            score = score,
+            solvedLogically = result.solved,
+            techniqueCounts = result.techniqueCounts
+        )
+    }
+
+    companion object {
+        // Added when the puzzle needs guessing or techniques beyond Swordfish
+        private const val UNSOLVED_PENALTY = 200
+    }
+}
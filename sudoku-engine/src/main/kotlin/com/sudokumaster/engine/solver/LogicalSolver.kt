@@ -0,0 +1,334 @@
+package com.sudokumaster.engine.solver
+
+import com.sudokumaster.engine.solver.SudokuGeometry.ALL_DIGITS
+import com.sudokumaster.engine.solver.SudokuGeometry.BOX_OF
+import com.sudokumaster.engine.solver.SudokuGeometry.CELL_COUNT
+import com.sudokumaster.engine.solver.SudokuGeometry.COL_OF
+import com.sudokumaster.engine.solver.SudokuGeometry.PEERS
+import com.sudokumaster.engine.solver.SudokuGeometry.ROW_OF
+import com.sudokumaster.engine.solver.SudokuGeometry.UNITS
+import com.sudokumaster.engine.solver.SudokuGeometry.UNIT_COUNT
+import com.sudokumaster.engine.solver.SudokuGeometry.isPeer
+
+// Human solving techniques, in the order the logical solver tries them.
+// The weight is what one application of a technique beyond singles adds to a puzzle's
+// difficulty score.
+enum class SolvingTechnique(val displayName: String, val weight: Int) {
+    NAKED_SINGLE("Naked Single", 1),
+    HIDDEN_SINGLE("Hidden Single", 2),
+    POINTING_PAIR("Pointing Pair", 6),
+    BOX_LINE_REDUCTION("Box/Line Reduction", 7),
+    NAKED_PAIR("Naked Pair", 8),
+    HIDDEN_PAIR("Hidden Pair", 10),
+    X_WING("X-Wing", 20),
+    Y_WING("Y-Wing", 24),
+    SWORDFISH("Swordfish", 30)
+}
+
+data class LogicalSolveResult(
+    val solved: Boolean,
+    val techniqueCounts: Map<SolvingTechnique, Int>
+) {
+    val hardestTechnique: SolvingTechnique?
+        get() = techniqueCounts.keys.maxByOrNull { it.ordinal }
+}
+
+// Step-based solver that only uses the techniques a person would. Every step applies
+// the cheapest technique that makes progress (a placement or a candidate elimination)
+// and then starts again from the cheapest one, so the recorded counts reflect what a
+// player actually needs. It stops when the board is solved or no technique applies.
+class LogicalSolver {
+
+    fun solve(cells: IntArray): LogicalSolveResult {
+        val board = Board(cells)
+        val counts = IntArray(TECHNIQUES.size)
+        while (!board.isSolved() && !board.hasContradiction()) {
+            val technique = board.step() ?: break
+            counts[technique.ordinal]++
+        }
+
+        val techniqueCounts = TECHNIQUES
+            .filter { counts[it.ordinal] > 0 }
+            .associateWith { counts[it.ordinal] }
+        return LogicalSolveResult(
+            solved = board.isSolved(),
+            techniqueCounts = techniqueCounts
+        )
+    }
+
+    private class Board(source: IntArray) {
+        private val values = IntArray(CELL_COUNT)
+        private val candidates = IntArray(CELL_COUNT) { ALL_DIGITS }
+        private var filled = 0
+
+        init {
+            for (cell in 0 until CELL_COUNT) {
+                if (source[cell] in 1..9) place(cell, source[cell])
+            }
+        }
+
+        fun isSolved(): Boolean = filled == CELL_COUNT
+
+        fun hasContradiction(): Boolean {
+            for (cell in 0 until CELL_COUNT) {
+                if (values[cell] == 0 && candidates[cell] == 0) return true
+            }
+            return false
+        }
+
+        fun step(): SolvingTechnique? {
+            return when {
+                nakedSingle() -> SolvingTechnique.NAKED_SINGLE
+                hiddenSingle() -> SolvingTechnique.HIDDEN_SINGLE
+                pointing() -> SolvingTechnique.POINTING_PAIR
+                boxLineReduction() -> SolvingTechnique.BOX_LINE_REDUCTION
+                nakedPair() -> SolvingTechnique.NAKED_PAIR
+                hiddenPair() -> SolvingTechnique.HIDDEN_PAIR
+                fish(2) -> SolvingTechnique.X_WING
+                yWing() -> SolvingTechnique.Y_WING
+                fish(3) -> SolvingTechnique.SWORDFISH
+                else -> null
+            }
+        }
+
+        private fun place(cell: Int, digit: Int) {
+            val bit = 1 shl (digit - 1)
+            values[cell] = digit
+            candidates[cell] = 0
+            filled++
+            for (peer in PEERS[cell]) {
+                candidates[peer] = candidates[peer] and bit.inv()
+            }
+        }
+
+        private fun eliminate(cell: Int, mask: Int): Boolean {
+            if (candidates[cell] and mask == 0) return false
+            candidates[cell] = candidates[cell] and mask.inv()
+            return true
+        }
+
+        // Bit i is set when the i-th cell of the unit can still hold the digit
+        private fun positions(unit: Int, bit: Int): Int {
+            var mask = 0
+            val cells = UNITS[unit]
+            for (i in 0..8) {
+                if (candidates[cells[i]] and bit != 0) mask = mask or (1 shl i)
+            }
+            return mask
+        }
+
+        private fun nakedSingle(): Boolean {
+            for (cell in 0 until CELL_COUNT) {
+                val mask = candidates[cell]
+                if (values[cell] == 0 && mask != 0 && mask and (mask - 1) == 0) {
+                    place(cell, Integer.numberOfTrailingZeros(mask) + 1)
+                    return true
+                }
+            }
+            return false
+        }
+
+        private fun hiddenSingle(): Boolean {
+            for (unit in 0 until UNIT_COUNT) {
+                for (digit in 0..8) {
+                    val positions = positions(unit, 1 shl digit)
+                    if (Integer.bitCount(positions) == 1) {
+                        place(UNITS[unit][Integer.numberOfTrailingZeros(positions)], digit + 1)
+                        return true
+                    }
+                }
+            }
+            return false
+        }
+
+        // A digit confined to one row or column inside a box cannot appear elsewhere on that line
+        private fun pointing(): Boolean {
+            for (box in 0..8) {
+                val boxCells = UNITS[18 + box]
+                for (digit in 0..8) {
+                    val bit = 1 shl digit
+                    var rows = 0
+                    var cols = 0
+                    for (cell in boxCells) {
+                        if (candidates[cell] and bit != 0) {
+                            rows = rows or (1 shl ROW_OF[cell])
+                            cols = cols or (1 shl COL_OF[cell])
+                        }
+                    }
+                    if (rows == 0) continue
+
+                    var progress = false
+                    if (Integer.bitCount(rows) == 1) {
+                        for (cell in UNITS[Integer.numberOfTrailingZeros(rows)]) {
+                            if (BOX_OF[cell] != box) progress = eliminate(cell, bit) or progress
+                        }
+                    }
+                    if (Integer.bitCount(cols) == 1) {
+                        for (cell in UNITS[9 + Integer.numberOfTrailingZeros(cols)]) {
+                            if (BOX_OF[cell] != box) progress = eliminate(cell, bit) or progress
+                        }
+                    }
+                    if (progress) return true
+                }
+            }
+            return false
+        }
+
+        // A digit confined to one box inside a row or column cannot appear elsewhere in that box
+        private fun boxLineReduction(): Boolean {
+            for (line in 0 until 18) {
+                val lineCells = UNITS[line]
+                for (digit in 0..8) {
+                    val bit = 1 shl digit
+                    var boxes = 0
+                    for (cell in lineCells) {
+                        if (candidates[cell] and bit != 0) boxes = boxes or (1 shl BOX_OF[cell])
+                    }
+                    if (Integer.bitCount(boxes) != 1) continue
+
+                    var progress = false
+                    for (cell in UNITS[18 + Integer.numberOfTrailingZeros(boxes)]) {
+                        val onLine = if (line < 9) ROW_OF[cell] == line else COL_OF[cell] == line - 9
+                        if (!onLine) progress = eliminate(cell, bit) or progress
+                    }
+                    if (progress) return true
+                }
+            }
+            return false
+        }
+
+        private fun nakedPair(): Boolean {
+            for (unit in 0 until UNIT_COUNT) {
+                val cells = UNITS[unit]
+                for (i in 0..7) {
+                    val pair = candidates[cells[i]]
+                    if (Integer.bitCount(pair) != 2) continue
+                    for (j in i + 1..8) {
+                        if (candidates[cells[j]] != pair) continue
+                        var progress = false
+                        for (k in 0..8) {
+                            if (k != i && k != j) progress = eliminate(cells[k], pair) or progress
+                        }
+                        if (progress) return true
+                    }
+                }
+            }
+            return false
+        }
+
+        private fun hiddenPair(): Boolean {
+            val positions = IntArray(9)
+            for (unit in 0 until UNIT_COUNT) {
+                for (digit in 0..8) positions[digit] = positions(unit, 1 shl digit)
+                for (first in 0..7) {
+                    if (Integer.bitCount(positions[first]) != 2) continue
+                    for (second in first + 1..8) {
+                        if (positions[second] != positions[first]) continue
+                        val keep = (1 shl first) or (1 shl second)
+                        var progress = false
+                        var remaining = positions[first]
+                        while (remaining != 0) {
+                            val index = Integer.numberOfTrailingZeros(remaining)
+                            remaining = remaining and (remaining - 1)
+                            progress = eliminate(UNITS[unit][index], keep.inv() and ALL_DIGITS) or progress
+                        }
+                        if (progress) return true
+                    }
+                }
+            }
+            return false
+        }
+
+        // X-Wing (size 2) and Swordfish (size 3): when a digit's positions in `size` rows
+        // all fall into the same `size` columns, it can be removed from the rest of those
+        // columns. The same holds with rows and columns swapped.
+        private fun fish(size: Int): Boolean {
+            val lines = IntArray(9)
+            for (byRows in booleanArrayOf(true, false)) {
+                for (digit in 0..8) {
+                    val bit = 1 shl digit
+                    var count = 0
+                    val baseLines = IntArray(9)
+                    for (line in 0..8) {
+                        val positions = positions(if (byRows) line else 9 + line, bit)
+                        val spread = Integer.bitCount(positions)
+                        if (spread in 2..size) {
+                            baseLines[count] = line
+                            lines[count] = positions
+                            count++
+                        }
+                    }
+                    if (count < size) continue
+
+                    if (size == 2) {
+                        for (a in 0 until count - 1) {
+                            for (b in a + 1 until count) {
+                                val cover = lines[a] or lines[b]
+                                if (Integer.bitCount(cover) != 2) continue
+                                val base = (1 shl baseLines[a]) or (1 shl baseLines[b])
+                                if (eliminateFish(byRows, bit, base, cover)) return true
+                            }
+                        }
+                    } else {
+                        for (a in 0 until count - 2) {
+                            for (b in a + 1 until count - 1) {
+                                for (c in b + 1 until count) {
+                                    val cover = lines[a] or lines[b] or lines[c]
+                                    if (Integer.bitCount(cover) != 3) continue
+                                    val base = (1 shl baseLines[a]) or (1 shl baseLines[b]) or (1 shl baseLines[c])
+                                    if (eliminateFish(byRows, bit, base, cover)) return true
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            return false
+        }
+
+        private fun eliminateFish(byRows: Boolean, bit: Int, baseLines: Int, coverLines: Int): Boolean {
+            var progress = false
+            for (cover in 0..8) {
+                if (coverLines and (1 shl cover) == 0) continue
+                for (line in 0..8) {
+                    if (baseLines and (1 shl line) != 0) continue
+                    val cell = if (byRows) line * 9 + cover else cover * 9 + line
+                    progress = eliminate(cell, bit) or progress
+                }
+            }
+            return progress
+        }
+
+        // Pivot {A,B} sees wings {A,C} and {B,C}: whichever value the pivot takes, one
+        // wing becomes C, so C can be removed from every cell that sees both wings.
+        private fun yWing(): Boolean {
+            for (pivot in 0 until CELL_COUNT) {
+                val pivotMask = candidates[pivot]
+                if (Integer.bitCount(pivotMask) != 2) continue
+                for (first in PEERS[pivot]) {
+                    val firstMask = candidates[first]
+                    if (Integer.bitCount(firstMask) != 2) continue
+                    val shared = firstMask and pivotMask
+                    if (Integer.bitCount(shared) != 1) continue
+                    val target = firstMask and shared.inv()
+                    val secondMask = (pivotMask and shared.inv()) or target
+                    for (second in PEERS[pivot]) {
+                        if (second == first || candidates[second] != secondMask) continue
+                        var progress = false
+                        for (cell in PEERS[first]) {
+                            if (cell != second && cell != pivot && isPeer(cell, second)) {
+                                progress = eliminate(cell, target) or progress
+                            }
+                        }
+                        if (progress) return true
+                    }
+                }
+            }
+            return false
+        }
+    }
+
+    companion object {
+        private val TECHNIQUES = SolvingTechnique.values()
+    }
+}
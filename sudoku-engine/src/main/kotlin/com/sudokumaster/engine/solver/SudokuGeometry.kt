@@ -0,0 +1,37 @@
+package com.sudokumaster.engine.solver
+
+// Precomputed board geometry shared by the engines. Cells are numbered 0..80 row by row;
+// units are numbered 0..8 for rows, 9..17 for columns and 18..26 for boxes.
+internal object SudokuGeometry {
+    const val CELL_COUNT = 81
+    const val UNIT_COUNT = 27
+    const val ALL_DIGITS = 0x1FF
+
+    val ROW_OF = IntArray(CELL_COUNT) { it / 9 }
+    val COL_OF = IntArray(CELL_COUNT) { it % 9 }
+    val BOX_OF = IntArray(CELL_COUNT) { (it / 27) * 3 + (it % 9) / 3 }
+
+    val UNITS: Array<IntArray> = Array(UNIT_COUNT) { unit ->
+        when {
+            unit < 9 -> IntArray(9) { unit * 9 + it }
+            unit < 18 -> IntArray(9) { it * 9 + (unit - 9) }
+            else -> {
+                val box = unit - 18
+                IntArray(9) { ((box / 3) * 3 + it / 3) * 9 + (box % 3) * 3 + it % 3 }
+            }
+        }
+    }
+
+    // The 20 cells sharing a row, column or box with each cell
+    val PEERS: Array<IntArray> = Array(CELL_COUNT) { cell ->
+        (0 until CELL_COUNT).filter { other ->
+            other != cell && (ROW_OF[other] == ROW_OF[cell] ||
+                COL_OF[other] == COL_OF[cell] ||
+                BOX_OF[other] == BOX_OF[cell])
+        }.toIntArray()
+    }
+
+    fun isPeer(a: Int, b: Int): Boolean {
+        return a != b && (ROW_OF[a] == ROW_OF[b] || COL_OF[a] == COL_OF[b] || BOX_OF[a] == BOX_OF[b])
+    }
+}
@@ -0,0 +1,36 @@
+package com.sudokumaster.engine.solver
+
+import com.sudokumaster.engine.model.SudokuGrid
+
+// Local solving engine. Implementations must be thread-safe: a single instance
+// is shared through Hilt and may be called from several background coroutines.
+interface SudokuSolver {
+    // Solves a flat 81-cell board in place (0 = empty). Returns false if there is no solution.
+    fun solveCells(cells: IntArray): Boolean
+
+    // Counts solutions of a flat 81-cell board, stopping as soon as `limit` are found.
+    // The board is not modified.
+    fun countSolutionsCells(cells: IntArray, limit: Int): Int
+
+    // Returns the solved grid, or null if the grid has no solution
+    fun solve(grid: SudokuGrid): SudokuGrid? {
+        val cells = grid.toCells()
+        if (!solveCells(cells)) return null
+        return SudokuGrid.fromCells(cells)
+    }
+
+    // Counts solutions up to `limit`; a limit of 2 is enough to tell unique from ambiguous
+    fun countSolutions(grid: SudokuGrid, limit: Int = 2): Int {
+        return countSolutionsCells(grid.toCells(), limit)
+    }
+
+    fun hasUniqueSolution(grid: SudokuGrid): Boolean {
+        return countSolutions(grid, 2) == 1
+    }
+
+    // Returns the solution of a grid that has exactly one, or null if it has none or several
+    fun uniqueSolution(grid: SudokuGrid): SudokuGrid? {
+        if (!hasUniqueSolution(grid)) return null
+        return solve(grid)
+    }
+}
@@ -0,0 +1,153 @@
+package com.sudokumaster.engine.transform
+
+import com.sudokumaster.engine.model.SudokuGrid
+
+// Computes the canonical form of a puzzle: its smallest representative under every
+// symmetry PuzzleTransformer can apply. Two puzzles are the same up to symmetry exactly
+// when their canonical forms are equal, so the 64-bit hash of the canonical form works
+// as a deduplication key.
+//
+// Ordering: boards are compared row-major as 81 values where an empty cell is 0 and
+// digits are relabelled 1, 2, 3... in order of first appearance. Relabelling makes digit
+// permutations irrelevant; the search below minimises over transposition, band and row
+// order, and stack and column order. Rotation is already covered by those.
+class PuzzleCanonicalizer {
+
+    fun canonicalCells(grid: SudokuGrid): IntArray {
+        return Search(grid.toCells()).run()
+    }
+
+    fun canonicalForm(grid: SudokuGrid): SudokuGrid {
+        return SudokuGrid.fromCells(canonicalCells(grid))
+    }
+
+    // FNV-1a over the canonical cells
+    fun canonicalHash(grid: SudokuGrid): Long {
+        var hash = FNV_OFFSET_BASIS
+        for (value in canonicalCells(grid)) {
+            hash = (hash xor value.toLong()) * FNV_PRIME
+        }
+        return hash
+    }
+
+    // A column order still tied for the smallest prefix, with the digit labels it produced
+    private class Candidate(
+        val columns: IntArray,
+        val labels: IntArray,
+        val nextLabel: Int
+    )
+
+    // Branch and bound over target rows. Every target row picks a source row (a whole band
+    // at a time); all column orders that produce the smallest row are kept together, since
+    // the column order is shared by all rows. A branch is cut as soon as its row is larger
+    // than the best board's row at the same depth.
+    private class Search(private val source: IntArray) {
+        private var board = source
+        private val best = IntArray(81)
+
+        // Rows of `best` filled in so far; rows below compare as larger than anything
+        private var bestRows = 0
+
+        private val rowUsed = BooleanArray(9)
+        private val bandUsed = BooleanArray(3)
+        private val rowValues = IntArray(9)
+        private val scratchLabels = IntArray(10)
+
+        fun run(): IntArray {
+            val transposed = IntArray(81) { source[(it % 9) * 9 + it / 9] }
+            for (orientation in arrayOf(source, transposed)) {
+                board = orientation
+                extend(0, -1, ALL_COLUMN_ORDERS.map { Candidate(it, IntArray(10), 1) })
+            }
+            return best
+        }
+
+        private fun extend(depth: Int, band: Int, candidates: List<Candidate>) {
+            if (depth == 9) return
+
+            if (depth % 3 == 0) {
+                for (nextBand in 0..2) {
+                    if (bandUsed[nextBand]) continue
+                    bandUsed[nextBand] = true
+                    for (row in nextBand * 3 until nextBand * 3 + 3) tryRow(depth, nextBand, row, candidates)
+                    bandUsed[nextBand] = false
+                }
+            } else {
+                for (row in band * 3 until band * 3 + 3) {
+                    if (!rowUsed[row]) tryRow(depth, band, row, candidates)
+                }
+            }
+        }
+
+        private fun tryRow(depth: Int, band: Int, row: Int, candidates: List<Candidate>) {
+            var minRow: IntArray? = null
+            val survivors = ArrayList<Candidate>()
+
+            for (candidate in candidates) {
+                candidate.labels.copyInto(scratchLabels)
+                var nextLabel = candidate.nextLabel
+                for (col in 0..8) {
+                    val digit = board[row * 9 + candidate.columns[col]]
+                    if (digit != 0 && scratchLabels[digit] == 0) scratchLabels[digit] = nextLabel++
+                    rowValues[col] = scratchLabels[digit]
+                }
+
+                val order = if (minRow == null) -1 else compare(rowValues, 0, minRow, 0)
+                if (order > 0) continue
+                if (order < 0) {
+                    minRow = rowValues.copyOf()
+                    survivors.clear()
+                }
+                survivors.add(Candidate(candidate.columns, scratchLabels.copyOf(), nextLabel))
+            }
+            val smallest = minRow ?: return
+
+            val order = if (depth >= bestRows) -1 else compare(smallest, 0, best, depth * 9)
+            if (order > 0) return
+            if (order < 0) {
+                smallest.copyInto(best, depth * 9)
+                bestRows = depth + 1
+            }
+
+            rowUsed[row] = true
+            extend(depth + 1, band, survivors)
+            rowUsed[row] = false
+        }
+
+        private fun compare(a: IntArray, aStart: Int, b: IntArray, bStart: Int): Int {
+            for (i in 0..8) {
+                val diff = a[aStart + i] - b[bStart + i]
+                if (diff != 0) return diff
+            }
+            return 0
+        }
+    }
+
+    private companion object {
+        const val FNV_OFFSET_BASIS = -0x340d631b7bdddcdbL
+        const val FNV_PRIME = 0x100000001b3L
+
+        // The 1296 column orders that keep stacks together: target column i reads source column order[i]
+        val ALL_COLUMN_ORDERS: List<IntArray> = buildList {
+            val triples = permutations(intArrayOf(0, 1, 2))
+            for (stacks in triples) {
+                for (first in triples) {
+                    for (second in triples) {
+                        for (third in triples) {
+                            val inner = arrayOf(first, second, third)
+                            add(IntArray(9) { stacks[it / 3] * 3 + inner[it / 3][it % 3] })
+                        }
+                    }
+                }
+            }
+        }
+
+        fun permutations(items: IntArray): List<IntArray> {
+            if (items.size <= 1) return listOf(items)
+            return items.indices.flatMap { i ->
+                val rest = items.filterIndexed { index, _ -> index != i }.toIntArray()
+                permutations(rest).map { intArrayOf(items[i]) + it }
+            }
+        }
+    }
+}
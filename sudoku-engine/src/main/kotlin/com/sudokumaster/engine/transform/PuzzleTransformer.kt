@@ -0,0 +1,80 @@
+package com.sudokumaster.engine.transform
+
+import com.sudokumaster.engine.model.SudokuGrid
+import kotlin.random.Random
+
+// A validity-preserving symmetry of the Sudoku board: a cell permutation plus a digit
+// relabelling. Applying the same transform to a puzzle and to its solution yields a
+// different-looking puzzle with the same unique solution (transformed the same way)
+// and the same difficulty, since every solving technique is invariant under it.
+class SudokuTransform internal constructor(
+    // Target cell i takes its value from source cell cellSource[i]
+    private val cellSource: IntArray,
+    // Digit d becomes digitMap[d]; digitMap[0] = 0 keeps empty cells empty
+    private val digitMap: IntArray
+) {
+
+    fun apply(grid: SudokuGrid): SudokuGrid {
+        return SudokuGrid.fromCells(applyCells(grid.toCells()))
+    }
+
+    fun applyCells(cells: IntArray): IntArray {
+        return IntArray(CELLS) { digitMap[cells[cellSource[it]]] }
+    }
+
+    private companion object {
+        const val CELLS = 81
+    }
+}
+
+// Builds random board symmetries: digit relabelling, row swaps within a band, band swaps,
+// column swaps within a stack, stack swaps, transposition and quarter-turn rotation.
+// Together they give about 1.2 trillion variants of every stored puzzle.
+class PuzzleTransformer(
+    private val random: Random = Random.Default
+) {
+
+    fun randomTransform(): SudokuTransform {
+        val rowMap = lineMap()
+        val colMap = lineMap()
+        val transpose = random.nextBoolean()
+        val quarterTurns = random.nextInt(4)
+
+        val cellSource = IntArray(81)
+        for (row in 0..8) {
+            for (col in 0..8) {
+                // Undo the rotation and transposition first, then the line permutations
+                var r = row
+                var c = col
+                repeat(quarterTurns) {
+                    val turned = c
+                    c = 8 - r
+                    r = turned
+                }
+                if (transpose) {
+                    val swapped = r
+                    r = c
+                    c = swapped
+                }
+                cellSource[row * 9 + col] = rowMap[r] * 9 + colMap[c]
+            }
+        }
+
+        val digitMap = IntArray(10)
+        val digits = (1..9).shuffled(random)
+        for (digit in 1..9) digitMap[digit] = digits[digit - 1]
+
+        return SudokuTransform(cellSource, digitMap)
+    }
+
+    // Permutation of the nine rows (or columns) that keeps every band (or stack) together
+    private fun lineMap(): IntArray {
+        val bands = (0..2).shuffled(random)
+        val map = IntArray(9)
+        for (band in 0..2) {
+            val lines = (0..2).shuffled(random)
+            for (i in 0..2) map[band * 3 + i] = bands[band] * 3 + lines[i]
+        }
+        return map
+    }
+}
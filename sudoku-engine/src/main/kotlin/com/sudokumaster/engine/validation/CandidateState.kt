@@ -0,0 +1,164 @@
+package com.sudokumaster.engine.validation
+
+import com.sudokumaster.engine.model.CellSet
+import com.sudokumaster.engine.model.SudokuGrid
+import com.sudokumaster.engine.solver.SudokuGeometry.ALL_DIGITS
+import com.sudokumaster.engine.solver.SudokuGeometry.BOX_OF
+import com.sudokumaster.engine.solver.SudokuGeometry.CELL_COUNT
+import com.sudokumaster.engine.solver.SudokuGeometry.COL_OF
+import com.sudokumaster.engine.solver.SudokuGeometry.PEERS
+import com.sudokumaster.engine.solver.SudokuGeometry.ROW_OF
+
+// Incrementally maintained candidate (pencil-mark) state for the board being played.
+// Keeps the value and candidate mask of every cell plus, for each row, column and box,
+// how many times each digit occurs. Placing or erasing a digit touches only the cell
+// and its 20 peers, so every update is constant time; undoing a move is just setting
+// the previous value back.
+//
+// The board may contain mistakes: a digit can occur more than once in a unit, which the
+// per-unit counts track, and every cell involved in such a clash is kept in `conflicts`.
+// An empty cell's candidates are the digits absent from all three of its units.
+// Not thread-safe; use it from the thread that applies moves.
+class CandidateState {
+    private val values = IntArray(CELL_COUNT)
+    private val candidates = IntArray(CELL_COUNT) { ALL_DIGITS }
+
+    // Occurrences of digit d in unit u live at [u * 9 + d - 1]
+    private val rowCounts = IntArray(81)
+    private val colCounts = IntArray(81)
+    private val boxCounts = IntArray(81)
+
+    // Bit d-1 set when digit d occurs at least once in the unit
+    private val rowUsed = IntArray(9)
+    private val colUsed = IntArray(9)
+    private val boxUsed = IntArray(9)
+
+    var filledCount = 0
+        private set
+
+    // Filled cells whose digit occurs more than once in their row, column or box
+    var conflicts: CellSet = CellSet.EMPTY
+        private set
+
+    val conflictCount: Int
+        get() = conflicts.size
+
+    // Every cell filled and no digit repeated in any unit; constant time
+    val isSolved: Boolean
+        get() = filledCount == CELL_COUNT && conflicts.isEmpty()
+
+    fun load(grid: SudokuGrid) {
+        values.fill(0)
+        candidates.fill(ALL_DIGITS)
+        rowCounts.fill(0)
+        colCounts.fill(0)
+        boxCounts.fill(0)
+        rowUsed.fill(0)
+        colUsed.fill(0)
+        boxUsed.fill(0)
+        filledCount = 0
+        conflicts = CellSet.EMPTY
+        for (cell in 0 until CELL_COUNT) {
+            val value = grid.valueAt(cell)
+            if (value != 0) set(cell, value)
+        }
+    }
+
+    fun valueAt(cell: Int): Int = values[cell]
+
+    // 9-bit candidate mask of an empty cell; 0 for filled cells
+    fun candidatesAt(cell: Int): Int = candidates[cell]
+
+    fun countInRow(row: Int, digit: Int): Int = rowCounts[row * 9 + digit - 1]
+
+    fun countInColumn(col: Int, digit: Int): Int = colCounts[col * 9 + digit - 1]
+
+    fun countInBox(box: Int, digit: Int): Int = boxCounts[box * 9 + digit - 1]
+
+    // True when no other cell in the row, column or box of `cell` holds `digit`
+    fun isValidPlacement(cell: Int, digit: Int): Boolean {
+        val own = if (values[cell] == digit) 1 else 0
+        return countInRow(ROW_OF[cell], digit) - own == 0 &&
+            countInColumn(COL_OF[cell], digit) - own == 0 &&
+            countInBox(BOX_OF[cell], digit) - own == 0
+    }
+
+    // Sets the cell to `value` (0 erases) and returns the previous value, so a move can
+    // be undone by calling set(cell, previous)
+    fun set(cell: Int, value: Int): Int {
+        val previous = values[cell]
+        if (previous == value) return previous
+        if (previous != 0) {
+            remove(cell, previous)
+            refreshConflicts(cell, previous)
+        }
+        if (value != 0) {
+            add(cell, value)
+            refreshConflicts(cell, value)
+        }
+        return previous
+    }
+
+    // A change of `digit` at `cell` can only change the conflict marks of the cell itself
+    // and of the peers that hold the same digit
+    private fun refreshConflicts(cell: Int, digit: Int) {
+        refreshConflict(cell)
+        for (peer in PEERS[cell]) {
+            if (values[peer] == digit) refreshConflict(peer)
+        }
+    }
+
+    private fun refreshConflict(cell: Int) {
+        val digit = values[cell]
+        val isConflict = digit != 0 && (countInRow(ROW_OF[cell], digit) > 1 ||
+            countInColumn(COL_OF[cell], digit) > 1 ||
+            countInBox(BOX_OF[cell], digit) > 1)
+        conflicts = if (isConflict) conflicts + cell else conflicts - cell
+    }
+
+    private fun add(cell: Int, digit: Int) {
+        val bit = 1 shl (digit - 1)
+        val row = ROW_OF[cell]
+        val col = COL_OF[cell]
+        val box = BOX_OF[cell]
+        values[cell] = digit
+        candidates[cell] = 0
+        filledCount++
+
+        rowCounts[row * 9 + digit - 1]++
+        colCounts[col * 9 + digit - 1]++
+        boxCounts[box * 9 + digit - 1]++
+        rowUsed[row] = rowUsed[row] or bit
+        colUsed[col] = colUsed[col] or bit
+        boxUsed[box] = boxUsed[box] or bit
+
+        for (peer in PEERS[cell]) {
+            candidates[peer] = candidates[peer] and bit.inv()
+        }
+    }
+
+    private fun remove(cell: Int, digit: Int) {
+        val bit = 1 shl (digit - 1)
+        val row = ROW_OF[cell]
+        val col = COL_OF[cell]
+        val box = BOX_OF[cell]
+        values[cell] = 0
+        filledCount--
+
+        if (--rowCounts[row * 9 + digit - 1] == 0) rowUsed[row] = rowUsed[row] and bit.inv()
+        if (--colCounts[col * 9 + digit - 1] == 0) colUsed[col] = colUsed[col] and bit.inv()
+        if (--boxCounts[box * 9 + digit - 1] == 0) boxUsed[box] = boxUsed[box] and bit.inv()
+
+        candidates[cell] = freeDigits(cell)
+        // Peers regain the digit only if none of their own units still holds it
+        for (peer in PEERS[cell]) {
+            if (values[peer] == 0 && freeDigits(peer) and bit != 0) {
+                candidates[peer] = candidates[peer] or bit
+            }
+        }
+    }
+
+    private fun freeDigits(cell: Int): Int {
+        return ALL_DIGITS and (rowUsed[ROW_OF[cell]] or colUsed[COL_OF[cell]] or boxUsed[BOX_OF[cell]]).inv()
+    }
+}
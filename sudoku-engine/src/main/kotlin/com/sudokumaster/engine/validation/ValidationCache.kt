@@ -0,0 +1,122 @@
+package com.sudokumaster.engine.validation
+
+// Fixed-size LRU cache of move validation results keyed by (board hash, cell, digit).
+// Entries live in parallel primitive arrays: a chained hash table finds them and a doubly
+// linked recency list orders them, so lookups and inserts allocate nothing and a full cache
+// always evicts the least recently used entry. Not thread-safe.
+class ValidationCache(val capacity: Int) {
+
+    init {
+        require(capacity > 0) { "Capacity must be positive: $capacity" }
+    }
+
+    private val boardHashes = LongArray(capacity)
+    private val moves = IntArray(capacity)
+    private val results = BooleanArray(capacity)
+
+    // Hash table: bucket heads and per-entry chain links
+    private val buckets = IntArray(tableSizeFor(capacity)) { NONE }
+    private val chainNext = IntArray(capacity)
+
+    // Recency list from `newest` to `oldest`
+    private val newer = IntArray(capacity)
+    private val older = IntArray(capacity)
+    private var newest = NONE
+    private var oldest = NONE
+
+    var size = 0
+        private set
+
+    // Cached result for playing `digit` at `cell` on the board with `boardHash`, or null
+    operator fun get(boardHash: Long, cell: Int, digit: Int): Boolean? {
+        val entry = find(boardHash, cell * 10 + digit)
+        if (entry == NONE) return null
+        touch(entry)
+        return results[entry]
+    }
+
+    fun put(boardHash: Long, cell: Int, digit: Int, valid: Boolean) {
+        val move = cell * 10 + digit
+        var entry = find(boardHash, move)
+        if (entry == NONE) {
+            entry = if (size < capacity) size++ else evictOldest()
+            boardHashes[entry] = boardHash
+            moves[entry] = move
+            val bucket = bucketOf(boardHash, move)
+            chainNext[entry] = buckets[bucket]
+            buckets[bucket] = entry
+            linkNewest(entry)
+        } else {
+            touch(entry)
+        }
+        results[entry] = valid
+    }
+
+    fun clear() {
+        buckets.fill(NONE)
+        newest = NONE
+        oldest = NONE
+        size = 0
+    }
+
+    private fun find(boardHash: Long, move: Int): Int {
+        var entry = buckets[bucketOf(boardHash, move)]
+        while (entry != NONE) {
+            if (boardHashes[entry] == boardHash && moves[entry] == move) return entry
+            entry = chainNext[entry]
+        }
+        return NONE
+    }
+
+    // Drops the least recently used entry from the table and the list; returns its slot
+    private fun evictOldest(): Int {
+        val entry = oldest
+        val bucket = bucketOf(boardHashes[entry], moves[entry])
+        if (buckets[bucket] == entry) {
+            buckets[bucket] = chainNext[entry]
+        } else {
+            var previous = buckets[bucket]
+            while (chainNext[previous] != entry) previous = chainNext[previous]
+            chainNext[previous] = chainNext[entry]
+        }
+        unlink(entry)
+        return entry
+    }
+
+    private fun touch(entry: Int) {
+        if (entry == newest) return
+        unlink(entry)
+        linkNewest(entry)
+    }
+
+    private fun linkNewest(entry: Int) {
+        newer[entry] = NONE
+        older[entry] = newest
+        if (newest != NONE) newer[newest] = entry else oldest = entry
+        newest = entry
+    }
+
+    private fun unlink(entry: Int) {
+        val before = newer[entry]
+        val after = older[entry]
+        if (before != NONE) older[before] = after else newest = after
+        if (after != NONE) newer[after] = before else oldest = before
+    }
+
+    private fun bucketOf(boardHash: Long, move: Int): Int {
+        val mixed = (boardHash xor move.toLong()) * GOLDEN_RATIO
+        return (mixed ushr 32).toInt() and (buckets.size - 1)
+    }
+
+    private companion object {
+        const val NONE = -1
+        const val GOLDEN_RATIO = -0x61c8864680b583ebL
+
+        // Power of two with at most 50% load
+        fun tableSizeFor(capacity: Int): Int {
+            var size = 2
+            while (size < capacity * 2) size = size shl 1
+            return size
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.sudokumaster.engine.validation
+
+import com.sudokumaster.engine.model.SudokuGrid
+import kotlin.random.Random
+
+// Zobrist hashing of boards: every (cell, digit) pair gets a random 64-bit key and a board
+// hashes to the XOR of the keys of its filled cells. Changing one cell only XORs out the old
+// key and XORs in the new one, so the hash of the board being played is kept up to date in
+// O(1) per move instead of being recomputed from all 81 cells.
+class ZobristHash(seed: Long = DEFAULT_SEED) {
+
+    // Key of digit d in cell c lives at [c * 10 + d]; digit 0 (empty) keeps a zero key
+    private val keys = LongArray(SudokuGrid.CELL_COUNT * 10)
+
+    init {
+        val random = Random(seed)
+        for (cell in 0 until SudokuGrid.CELL_COUNT) {
+            for (digit in 1..9) keys[cell * 10 + digit] = random.nextLong()
+        }
+    }
+
+    fun hash(grid: SudokuGrid): Long {
+        var hash = 0L
+        for (cell in 0 until SudokuGrid.CELL_COUNT) hash = hash xor keys[cell * 10 + grid.valueAt(cell)]
+        return hash
+    }
+
+    // Hash of the board after `cell` changes from `previous` to `value` (0 = empty)
+    fun update(hash: Long, cell: Int, previous: Int, value: Int): Long {
+        return hash xor keys[cell * 10 + previous] xor keys[cell * 10 + value]
+    }
+
+    private companion object {
+        const val DEFAULT_SEED = 0x5EED_50D0L
+    }
+}
@@ -0,0 +1,29 @@
+package com.sudokumaster.engine
+
+import com.sudokumaster.engine.model.SudokuGrid
+
+// Known boards shared by the engine tests, as 81-character strings (0 = empty)
+object TestPuzzles {
+
+    const val CLASSIC =
+        "530070000600195000098000060800060003400803001700020006060000280000419005000080079"
+    const val CLASSIC_SOLUTION =
+        "534678912672195348198342567859761423426853791713924856961537284287419635345286179"
+
+    // Arto Inkala's "world's hardest" puzzle
+    const val HARDEST =
+        "800000000003600000070090200050007000000045700000100030001000068008500010090000400"
+    const val HARDEST_SOLUTION =
+        "812753649943682175675491283154237896369845721287169534521974368438526917796318452"
+
+    // Minimal puzzles: removing any clue leaves more than one solution
+    val SEVENTEEN_CLUES = listOf(
+        "000000010400000000020000000000050407008000300001090000300400200050100000000806000",
+        "000000012003600000000007000410020000000500300700000600280000040000300500000000000",
+        "000000013000030080070000000000206000030000900000010000600500204000400700100000000"
+    )
+
+    fun cells(board: String): IntArray = IntArray(SudokuGrid.CELL_COUNT) { board[it] - '0' }
+
+    fun grid(board: String): SudokuGrid = SudokuGrid.fromCells(cells(board))
+}
@@ -0,0 +1,69 @@
+package com.sudokumaster.engine.codec
+
+import com.sudokumaster.engine.TestPuzzles
+import com.sudokumaster.engine.model.DifficultyLevel
+import com.sudokumaster.engine.model.SudokuGrid
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import java.io.ByteArrayOutputStream
+import java.nio.ByteBuffer
+
+class PuzzleBankTest {
+
+    private val classic = BankPuzzle(
+        TestPuzzles.grid(TestPuzzles.CLASSIC),
+        TestPuzzles.grid(TestPuzzles.CLASSIC_SOLUTION)
+    )
+    private val hardest = BankPuzzle(
+        TestPuzzles.grid(TestPuzzles.HARDEST),
+        TestPuzzles.grid(TestPuzzles.HARDEST_SOLUTION)
+    )
+
+    @Test
+    fun readsBackWhatWasWritten() {
+        val bank = bankOf(
+            mapOf(
+                DifficultyLevel.EASY to listOf(classic),
+                DifficultyLevel.HARD to listOf(hardest, classic)
+            )
+        )
+        assertEquals(1, bank.count(DifficultyLevel.EASY))
+        assertEquals(0, bank.count(DifficultyLevel.MEDIUM))
+        assertEquals(2, bank.count(DifficultyLevel.HARD))
+        assertEquals(classic, bank.puzzle(DifficultyLevel.EASY, 0))
+        assertEquals(hardest, bank.puzzle(DifficultyLevel.HARD, 0))
+        assertEquals(classic, bank.puzzle(DifficultyLevel.HARD, 1))
+    }
+
+    @Test
+    fun recordsHaveAFixedSize() {
+        val bytes = ByteArrayOutputStream()
+        PuzzleBank.write(bytes, mapOf(DifficultyLevel.MEDIUM to listOf(classic, hardest, classic)))
+        val header = 12 + DifficultyLevel.values().size * 8
+        assertEquals(header + 3 * PuzzleBank.RECORD_SIZE, bytes.size())
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun rejectsIndexOutOfRange() {
+        bankOf(mapOf(DifficultyLevel.EASY to listOf(classic))).puzzle(DifficultyLevel.EASY, 1)
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun rejectsOtherFiles() {
+        PuzzleBank(ByteBuffer.wrap(ByteArray(64)))
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun rejectsIncompleteSolutions() {
+        PuzzleBank.write(
+            ByteArrayOutputStream(),
+            mapOf(DifficultyLevel.EASY to listOf(BankPuzzle(classic.grid, SudokuGrid.EMPTY)))
+        )
+    }
+
+    private fun bankOf(puzzles: Map<DifficultyLevel, List<BankPuzzle>>): PuzzleBank {
+        val bytes = ByteArrayOutputStream()
+        PuzzleBank.write(bytes, puzzles)
+        return PuzzleBank(ByteBuffer.wrap(bytes.toByteArray()))
+    }
+}
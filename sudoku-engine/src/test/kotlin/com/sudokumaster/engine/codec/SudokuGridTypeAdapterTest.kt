@@ -0,0 +1,37 @@
+package com.sudokumaster.engine.codec
+
+import com.sudokumaster.engine.TestPuzzles
+import com.sudokumaster.engine.model.SudokuGrid
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class SudokuGridTypeAdapterTest {
+
+    private val adapter = SudokuGridTypeAdapter()
+
+    @Test
+    fun writesNestedArraysWithNullsForEmptyCells() {
+        val grid = SudokuGrid.EMPTY.with(0, 0, 5).with(8, 8, 9)
+        val json = adapter.toJson(grid)
+        val emptyRow = List(9) { "null" }.joinToString(",", "[", "]")
+        assertEquals(
+            "[[5" + ",null".repeat(8) + "]," + "$emptyRow,".repeat(7) + "[" + "null,".repeat(8) + "9]]",
+            json
+        )
+    }
+
+    @Test
+    fun roundTrips() {
+        for (board in listOf(TestPuzzles.CLASSIC, TestPuzzles.CLASSIC_SOLUTION, TestPuzzles.HARDEST)) {
+            val grid = TestPuzzles.grid(board)
+            assertEquals(grid, adapter.fromJson(adapter.toJson(grid)))
+        }
+    }
+
+    @Test
+    fun emptyArrayReadsAsMissing() {
+        assertNull(adapter.fromJson("[]"))
+        assertNull(adapter.fromJson("null"))
+    }
+}
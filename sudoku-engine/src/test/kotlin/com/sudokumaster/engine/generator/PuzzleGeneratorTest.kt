@@ -0,0 +1,72 @@
+package com.sudokumaster.engine.generator
+
+import com.sudokumaster.engine.model.DifficultyLevel
+import com.sudokumaster.engine.solver.BitmaskSolver
+import com.sudokumaster.engine.solver.DifficultyGrader
+import com.sudokumaster.engine.solver.SudokuSolver
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import kotlin.random.Random
+
+class PuzzleGeneratorTest {
+
+    private val solver = BitmaskSolver()
+    private val grader = DifficultyGrader()
+
+    @Test
+    fun generatesUniquePuzzlesOfTheSolution() {
+        val generator = PuzzleGenerator(solver, grader, Random(7))
+        for (level in DifficultyLevel.values()) {
+            val generated = generator.generate(level, cellsToRemove = 40)
+            assertTrue(generated.solution.isComplete)
+            assertTrue(generated.solution.isSolutionOf(generated.grid))
+            assertTrue(solver.hasUniqueSolution(generated.grid))
+            assertEquals(generated.solution, solver.solve(generated.grid))
+        }
+    }
+
+    @Test
+    fun removesTheRequestedNumberOfClues() {
+        val generator = PuzzleGenerator(solver, grader, Random(11))
+        val generated = generator.generate(DifficultyLevel.EASY, cellsToRemove = 35)
+        assertEquals(81 - 35, generated.grid.filledCount)
+    }
+
+    @Test
+    fun gradeMatchesTheGrader() {
+        val generator = PuzzleGenerator(solver, grader, Random(3))
+        // The app's removal targets for each level
+        val targets = mapOf(DifficultyLevel.EASY to 35, DifficultyLevel.MEDIUM to 45, DifficultyLevel.HARD to 55)
+        for ((level, cellsToRemove) in targets) {
+            val generated = generator.generate(level, cellsToRemove)
+            assertEquals(grader.grade(generated.grid), generated.grade)
+            assertEquals(level, generated.grade.level)
+        }
+    }
+
+    @Test
+    fun removesMoreCluesWhenTheTargetIsTooEasy() {
+        // 45 random holes almost never need more than singles
+        val generated = PuzzleGenerator(solver, grader, Random(5)).generate(DifficultyLevel.MEDIUM, 45)
+        assertEquals(DifficultyLevel.MEDIUM, generated.grade.level)
+        assertTrue(81 - generated.grid.filledCount >= 45)
+        assertTrue(solver.hasUniqueSolution(generated.grid))
+    }
+
+    @Test
+    fun sameSeedGivesSamePuzzle() {
+        val first = PuzzleGenerator(solver, grader, Random(42)).generate(DifficultyLevel.MEDIUM, 45)
+        val second = PuzzleGenerator(solver, grader, Random(42)).generate(DifficultyLevel.MEDIUM, 45)
+        assertEquals(first.grid, second.grid)
+    }
+
+    @Test(expected = IllegalStateException::class)
+    fun failsInsteadOfCarvingAPartialGrid() {
+        val broken = object : SudokuSolver {
+            override fun solveCells(cells: IntArray): Boolean = false
+            override fun countSolutionsCells(cells: IntArray, limit: Int): Int = 0
+        }
+        PuzzleGenerator(broken, grader, Random(1)).generate(DifficultyLevel.EASY, 35)
+    }
+}
@@ -0,0 +1,159 @@
+package com.sudokumaster.engine.history
+
+import com.sudokumaster.engine.model.PencilMarks
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class MoveJournalTest {
+
+    @Test
+    fun encodesCellAndValues() {
+        val move = MoveJournal.encode(80, 9, 0)
+        assertEquals(80, MoveJournal.cellOf(move))
+        assertEquals(9, MoveJournal.oldValueOf(move))
+        assertEquals(0, MoveJournal.newValueOf(move))
+    }
+
+    @Test
+    fun undoesAndRedoesInOrder() {
+        val journal = MoveJournal()
+        journal.record(0, 0, 5)
+        journal.record(1, 0, 3)
+        journal.record(0, 5, 7)
+
+        assertEquals(MoveJournal.encode(0, 5, 7), journal.undo())
+        assertEquals(MoveJournal.encode(1, 0, 3), journal.undo())
+        assertTrue(journal.canUndo)
+        assertTrue(journal.canRedo)
+
+        assertEquals(MoveJournal.encode(1, 0, 3), journal.redo())
+        assertEquals(MoveJournal.encode(0, 5, 7), journal.redo())
+        assertFalse(journal.canRedo)
+        assertEquals(MoveJournal.NONE, journal.redo())
+    }
+
+    @Test
+    fun recordingDiscardsRedoableMoves() {
+        val journal = MoveJournal()
+        journal.record(0, 0, 5)
+        journal.record(1, 0, 3)
+        journal.undo()
+        journal.record(2, 0, 4)
+        assertFalse(journal.canRedo)
+        assertEquals(MoveJournal.encode(2, 0, 4), journal.undo())
+        assertEquals(MoveJournal.encode(0, 0, 5), journal.undo())
+        assertEquals(MoveJournal.NONE, journal.undo())
+    }
+
+    @Test
+    fun ignoresMovesThatChangeNothing() {
+        val journal = MoveJournal()
+        journal.record(4, 6, 6)
+        assertFalse(journal.canUndo)
+    }
+
+    @Test
+    fun dropsTheOldestMovesWhenFull() {
+        val journal = MoveJournal(capacity = 4)
+        // Ten moves wrap the ring twice; only the last four are kept
+        for (i in 0 until 10) journal.record(i, 0, i % 9 + 1)
+        for (i in 9 downTo 6) assertEquals(MoveJournal.encode(i, 0, i % 9 + 1), journal.undo())
+        assertFalse(journal.canUndo)
+        assertEquals(MoveJournal.NONE, journal.undo())
+
+        for (i in 6..9) assertEquals(MoveJournal.encode(i, 0, i % 9 + 1), journal.redo())
+        // Recording after the wrap keeps working from the same ring position
+        journal.record(10, 0, 2)
+        assertEquals(MoveJournal.encode(10, 0, 2), journal.undo())
+        assertEquals(MoveJournal.encode(9, 0, 1), journal.undo())
+    }
+
+    @Test
+    fun clearForgetsEverything() {
+        val journal = MoveJournal()
+        journal.record(0, 0, 5)
+        journal.undo()
+        journal.clear()
+        assertFalse(journal.canUndo)
+        assertFalse(journal.canRedo)
+    }
+
+    @Test
+    fun restoresNotesAroundAPlacement() {
+        val journal = MoveJournal()
+        val noted = PencilMarks.EMPTY.toggle(0, 3).toggle(1, 5).toggle(9, 5).toggle(40, 5)
+        // Placing 5 in cell 0 clears its own notes and 5 from both peers, not from cell 40
+        val placed = noted.place(0, 5)
+        journal.record(0, 0, 5, noted, placed)
+
+        assertEquals(MoveJournal.encode(0, 0, 5), journal.undo())
+        assertEquals(noted, journal.stepNotes(placed))
+        assertEquals(MoveJournal.encode(0, 0, 5), journal.redo())
+        assertEquals(placed, journal.stepNotes(noted))
+    }
+
+    @Test
+    fun recordsNoteOnlyMoves() {
+        val journal = MoveJournal()
+        val first = PencilMarks.EMPTY.toggle(4, 2)
+        val second = first.toggle(4, 3)
+        journal.record(4, 0, 0, PencilMarks.EMPTY, first)
+        journal.record(4, 0, 0, first, second)
+        // Same notes: nothing changed
+        journal.record(4, 0, 0, second, second)
+
+        journal.undo()
+        assertEquals(first, journal.stepNotes(second))
+        journal.undo()
+        assertEquals(PencilMarks.EMPTY, journal.stepNotes(first))
+        assertFalse(journal.canUndo)
+
+        journal.redo()
+        assertEquals(first, journal.stepNotes(PencilMarks.EMPTY))
+    }
+
+    @Test
+    fun valueOnlyMovesLeaveNotesAlone() {
+        val journal = MoveJournal()
+        val notes = PencilMarks.EMPTY.toggle(40, 1)
+        journal.record(0, 0, 5, notes, notes)
+        journal.record(1, 0, 3)
+        journal.undo()
+        assertSame(notes, journal.stepNotes(notes))
+        journal.undo()
+        assertSame(notes, journal.stepNotes(notes))
+        // Nothing left to undo: nothing to apply either
+        assertEquals(MoveJournal.NONE, journal.undo())
+        assertSame(notes, journal.stepNotes(notes))
+    }
+
+    @Test
+    fun notesFollowTheRingWhenItWraps() {
+        val journal = MoveJournal(capacity = 3)
+        var notes = PencilMarks.EMPTY
+        val snapshots = ArrayList<PencilMarks>()
+        for (i in 0 until 7) {
+            val next = notes.toggle(i, 1)
+            journal.record(i, 0, 0, notes, next)
+            snapshots += notes
+            notes = next
+        }
+        for (i in 6 downTo 4) {
+            assertEquals(MoveJournal.encode(i, 0, 0), journal.undo())
+            notes = journal.stepNotes(notes)
+            assertEquals(snapshots[i], notes)
+        }
+        assertEquals(MoveJournal.NONE, journal.undo())
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun rejectsNoteChangesItCannotReplay() {
+        // Cell 1 is a peer of cell 0, but losing a 4 does not follow from placing a 5
+        val before = PencilMarks.EMPTY.toggle(1, 4)
+        MoveJournal().record(0, 0, 5, before, PencilMarks.EMPTY)
+    }
+}
@@ -0,0 +1,74 @@
+package com.sudokumaster.engine.model
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import kotlin.random.Random
+
+class CellSetTest {
+
+    @Test
+    fun addsAndRemovesCellsInBothWords() {
+        val set = CellSet.EMPTY + 0 + 63 + 64 + 80
+        assertTrue(0 in set)
+        assertTrue(set.contains(7, 0))
+        assertTrue(64 in set)
+        assertTrue(set.contains(8, 8))
+        assertFalse(1 in set)
+        assertEquals(4, set.size)
+
+        val removed = set - 63 - 80
+        assertEquals(2, removed.size)
+        assertFalse(63 in removed)
+        assertFalse(80 in removed)
+    }
+
+    @Test
+    fun unchangedSetIsTheSameInstance() {
+        val set = CellSet.EMPTY + 5 + 70
+        assertSame(set, set + 5)
+        assertSame(set, set + 70)
+        assertSame(set, set - 6)
+        assertSame(CellSet.EMPTY, set - 5 - 70)
+        assertTrue((set - 5 - 70).isEmpty())
+    }
+
+    @Test
+    fun matchesAHashSet() {
+        val random = Random(3)
+        var set = CellSet.EMPTY
+        val reference = HashSet<Int>()
+        repeat(10_000) {
+            val cell = random.nextInt(81)
+            if (random.nextBoolean()) {
+                set += cell
+                reference += cell
+            } else {
+                set -= cell
+                reference -= cell
+            }
+            assertEquals(reference.size, set.size)
+        }
+        for (cell in 0 until 81) assertEquals(cell in reference, cell in set)
+    }
+
+    @Test
+    fun unionCoversBothWords() {
+        val first = CellSet.EMPTY + 1 + 70
+        val second = CellSet.EMPTY + 1 + 40 + 80
+        assertEquals(CellSet.EMPTY + 1 + 40 + 70 + 80, first + second)
+        assertSame(first, first + CellSet.EMPTY)
+        assertSame(first, first + (CellSet.EMPTY + 70))
+    }
+
+    @Test
+    fun equalityFollowsContent() {
+        val first = CellSet.EMPTY + 3 + 66
+        val second = CellSet.EMPTY + 66 + 3
+        assertEquals(first, second)
+        assertEquals(first.hashCode(), second.hashCode())
+        assertEquals("CellSet[3, 66]", first.toString())
+    }
+}
@@ -0,0 +1,83 @@
+package com.sudokumaster.engine.model
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import kotlin.random.Random
+
+class PencilMarksTest {
+
+    @Test
+    fun togglesDigitsPerCell() {
+        val notes = PencilMarks.EMPTY.toggle(10, 1).toggle(10, 9).toggle(11, 4)
+        assertTrue(notes.has(10, 1))
+        assertTrue(notes.has(10, 9))
+        assertFalse(notes.has(10, 4))
+        assertEquals(0b100000001, notes.maskAt(10))
+        assertEquals(PencilMarks.EMPTY.toggle(11, 4), notes.toggle(10, 1).toggle(10, 9))
+        assertTrue(notes.toggle(10, 1).toggle(10, 9).toggle(11, 4).isEmpty())
+    }
+
+    @Test
+    fun snapshotsAreImmutable() {
+        val notes = PencilMarks.EMPTY.toggle(0, 3)
+        notes.toggle(0, 4)
+        notes.clear(0)
+        assertEquals(0b100, notes.maskAt(0))
+        assertTrue(PencilMarks.EMPTY.isEmpty())
+    }
+
+    @Test
+    fun clearOfAnEmptyCellReturnsTheSameInstance() {
+        val notes = PencilMarks.EMPTY.toggle(0, 3)
+        assertSame(notes, notes.clear(1))
+        assertEquals(0, notes.clear(0).maskAt(0))
+    }
+
+    @Test
+    fun placeClearsTheCellAndTheDigitFromPeers() {
+        val notes = PencilMarks.EMPTY
+            .toggle(0, 5).toggle(0, 6)
+            .toggle(8, 5).toggle(8, 2) // same row
+            .toggle(72, 5) // same column
+            .toggle(20, 5) // same box
+            .toggle(40, 5) // not a peer
+        val placed = notes.place(0, 5)
+        assertEquals(0, placed.maskAt(0))
+        assertEquals(0b10, placed.maskAt(8))
+        assertFalse(placed.has(72, 5))
+        assertFalse(placed.has(20, 5))
+        assertTrue(placed.has(40, 5))
+    }
+
+    @Test
+    fun placeWithoutAffectedNotesReturnsTheSameInstance() {
+        val notes = PencilMarks.EMPTY.toggle(40, 5).toggle(1, 3)
+        assertSame(notes, notes.place(0, 5))
+    }
+
+    @Test
+    fun flipTwiceGivesTheNotesBack() {
+        val notes = PencilMarks.EMPTY.toggle(0, 1).toggle(0, 2).toggle(1, 7).toggle(80, 7)
+        // Bit 0 of the peer set is PEERS[0][0], which is cell 1
+        val flipped = notes.flip(0, 0b11, 0b1, 7)
+        assertEquals(0, flipped.maskAt(0))
+        assertFalse(flipped.has(1, 7))
+        assertTrue(flipped.has(80, 7))
+        assertEquals(notes, flipped.flip(0, 0b11, 0b1, 7))
+        assertSame(notes, notes.flip(0, 0, 0, 7))
+    }
+
+    @Test
+    fun packedFormRoundTrips() {
+        val random = Random(8)
+        var notes = PencilMarks.EMPTY
+        repeat(300) { notes = notes.toggle(random.nextInt(81), random.nextInt(1, 10)) }
+        val bytes = notes.toBytes()
+        assertEquals(PencilMarks.PACKED_SIZE, bytes.size)
+        assertEquals(notes, PencilMarks.fromBytes(bytes))
+        assertEquals(PencilMarks.EMPTY, PencilMarks.fromBytes(ByteArray(PencilMarks.PACKED_SIZE)))
+    }
+}
@@ -0,0 +1,143 @@
+package com.sudokumaster.engine.model
+
+import com.sudokumaster.engine.TestPuzzles
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import kotlin.random.Random
+
+class SudokuGridTest {
+
+    @Test
+    fun readsCellsRowMajor() {
+        val grid = TestPuzzles.grid(TestPuzzles.CLASSIC)
+        assertEquals(5, grid[0, 0])
+        assertEquals(7, grid[0, 4])
+        assertNull(grid[0, 2])
+        assertEquals(9, grid.valueAt(80))
+        assertEquals(30, grid.filledCount)
+        assertArrayEquals(TestPuzzles.cells(TestPuzzles.CLASSIC), grid.toCells())
+    }
+
+    @Test
+    fun withChangesOneCell() {
+        val grid = TestPuzzles.grid(TestPuzzles.CLASSIC)
+        val placed = grid.with(0, 2, 4)
+        assertEquals(4, placed[0, 2])
+        assertEquals(31, placed.filledCount)
+        // The original snapshot is untouched
+        assertNull(grid[0, 2])
+
+        val erased = placed.with(0, 0, null)
+        assertNull(erased[0, 0])
+        assertEquals(30, erased.filledCount)
+    }
+
+    @Test
+    fun withReturnsTheSameGridWhenNothingChanges() {
+        val grid = TestPuzzles.grid(TestPuzzles.CLASSIC)
+        assertSame(grid, grid.with(0, 0, 5))
+        assertSame(grid, grid.with(0, 2, null))
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun rejectsOutOfRangeValues() {
+        TestPuzzles.grid(TestPuzzles.CLASSIC).with(0, 2, 10)
+    }
+
+    @Test
+    fun equalityFollowsContent() {
+        val grid = TestPuzzles.grid(TestPuzzles.CLASSIC)
+        val same = SudokuGrid.fromCells(TestPuzzles.cells(TestPuzzles.CLASSIC))
+        assertEquals(grid, same)
+        assertEquals(grid.hashCode(), same.hashCode())
+        assertNotEquals(grid, grid.with(0, 2, 4))
+        assertEquals(grid, grid.with(0, 2, 4).with(0, 2, null))
+    }
+
+    @Test
+    fun recognisesSolutions() {
+        val puzzle = TestPuzzles.grid(TestPuzzles.CLASSIC)
+        val solution = TestPuzzles.grid(TestPuzzles.CLASSIC_SOLUTION)
+        assertTrue(solution.isComplete)
+        assertTrue(solution.isSolutionOf(puzzle))
+        assertFalse(puzzle.isSolutionOf(puzzle))
+        // Complete and valid, but it does not keep the puzzle's givens
+        assertFalse(TestPuzzles.grid(TestPuzzles.HARDEST_SOLUTION).isSolutionOf(puzzle))
+
+        // Swapping two cells of a row breaks the columns
+        val swapped = solution.with(0, 0, 3).with(0, 1, 5)
+        assertTrue(swapped.isComplete)
+        assertFalse(swapped.isSolutionOf(SudokuGrid.EMPTY))
+    }
+
+    @Test
+    fun longEditChainsMatchAFreshGrid() {
+        // Enough edits to flatten the snapshot chain several times
+        val random = Random(1)
+        val cells = TestPuzzles.cells(TestPuzzles.CLASSIC)
+        var grid = SudokuGrid.fromCells(cells)
+        val snapshots = ArrayList<Pair<SudokuGrid, IntArray>>()
+        repeat(500) {
+            val cell = random.nextInt(81)
+            val value = random.nextInt(10)
+            cells[cell] = value
+            grid = grid.with(cell / 9, cell % 9, value)
+            val fresh = SudokuGrid.fromCells(cells)
+            assertEquals(fresh, grid)
+            assertEquals(fresh.hashCode(), grid.hashCode())
+            assertEquals(cells.count { it != 0 }, grid.filledCount)
+            if (it % 50 == 0) snapshots += grid to cells.copyOf()
+        }
+        // Older snapshots keep their own content
+        for ((snapshot, expected) in snapshots) assertArrayEquals(expected, snapshot.toCells())
+    }
+
+    @Test
+    fun hashCodeIsTheContentHash() {
+        val grid = TestPuzzles.grid(TestPuzzles.CLASSIC).with(0, 2, 4).with(8, 0, 1)
+        val bytes = ByteArray(81) { grid.valueAt(it).toByte() }
+        assertEquals(bytes.contentHashCode(), grid.hashCode())
+    }
+
+    @Test
+    fun packedBytesRoundTrip() {
+        val random = Random(25)
+        val boards = listOf(TestPuzzles.CLASSIC, TestPuzzles.CLASSIC_SOLUTION, TestPuzzles.HARDEST)
+            .map { TestPuzzles.grid(it) } + SudokuGrid.EMPTY +
+            List(100) { SudokuGrid.fromCells(IntArray(81) { random.nextInt(10) }) }
+        for (grid in boards) {
+            val packed = grid.toBytes()
+            assertEquals(SudokuGrid.PACKED_SIZE, packed.size)
+            assertEquals(grid, SudokuGrid.fromBytes(packed))
+        }
+        // Edited snapshots pack their current content
+        val edited = TestPuzzles.grid(TestPuzzles.CLASSIC).with(0, 2, 4).with(8, 8, null)
+        assertEquals(edited, SudokuGrid.fromBytes(edited.toBytes()))
+    }
+
+    @Test
+    fun packsCellsAsNibblesHighFirst() {
+        val packed = SudokuGrid.EMPTY.with(0, 0, 5).with(0, 1, 3).with(8, 8, 9).toBytes()
+        assertEquals(0x53, packed[0].toInt())
+        // Cell 80 is the high nibble of the last byte, whose low nibble is padding
+        assertEquals(0x90, packed[40].toInt() and 0xFF)
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun rejectsPackedValuesAboveNine() {
+        val packed = ByteArray(SudokuGrid.PACKED_SIZE)
+        packed[3] = 0x0A
+        SudokuGrid.fromBytes(packed)
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun rejectsPackedGridsOfTheWrongSize() {
+        SudokuGrid.fromBytes(ByteArray(SudokuGrid.PACKED_SIZE - 1))
+    }
+}
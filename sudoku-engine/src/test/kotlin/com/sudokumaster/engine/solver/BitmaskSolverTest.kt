@@ -0,0 +1,60 @@
+package com.sudokumaster.engine.solver
+
+import com.sudokumaster.engine.TestPuzzles
+import com.sudokumaster.engine.model.SudokuGrid
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class BitmaskSolverTest {
+
+    private val solver = BitmaskSolver()
+
+    @Test
+    fun solvesKnownPuzzles() {
+        val classic = TestPuzzles.cells(TestPuzzles.CLASSIC)
+        assertTrue(solver.solveCells(classic))
+        assertArrayEquals(TestPuzzles.cells(TestPuzzles.CLASSIC_SOLUTION), classic)
+
+        val hardest = TestPuzzles.cells(TestPuzzles.HARDEST)
+        assertTrue(solver.solveCells(hardest))
+        assertArrayEquals(TestPuzzles.cells(TestPuzzles.HARDEST_SOLUTION), hardest)
+    }
+
+    @Test
+    fun keepsGivensOfMinimalPuzzles() {
+        for (puzzle in TestPuzzles.SEVENTEEN_CLUES) {
+            val givens = TestPuzzles.cells(puzzle)
+            val cells = givens.copyOf()
+            assertTrue(solver.solveCells(cells))
+            assertTrue(SudokuGrid.fromCells(cells).isSolutionOf(SudokuGrid.fromCells(givens)))
+        }
+    }
+
+    @Test
+    fun rejectsConflictingGivens() {
+        // Two 5s in the first row
+        val cells = TestPuzzles.cells(TestPuzzles.CLASSIC)
+        cells[2] = 5
+        val before = cells.copyOf()
+        assertFalse(solver.solveCells(cells))
+        assertArrayEquals(before, cells)
+    }
+
+    @Test
+    fun rejectsBoardWithAStuckCell() {
+        // The last cell of the first row sees every digit without any given clashing
+        val cells = IntArray(81)
+        for (col in 0 until 8) cells[col] = col + 1
+        cells[4 * 9 + 8] = 9
+        assertFalse(solver.solveCells(cells))
+    }
+
+    @Test
+    fun rejectsOutOfRangeValues() {
+        val cells = TestPuzzles.cells(TestPuzzles.CLASSIC)
+        cells[2] = 10
+        assertFalse(solver.solveCells(cells))
+    }
+}
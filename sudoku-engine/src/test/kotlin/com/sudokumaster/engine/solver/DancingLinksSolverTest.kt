@@ -0,0 +1,64 @@
+package com.sudokumaster.engine.solver
+
+import com.sudokumaster.engine.TestPuzzles
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class DancingLinksSolverTest {
+
+    private val solver = DancingLinksSolver()
+
+    @Test
+    fun solvesKnownPuzzles() {
+        val classic = TestPuzzles.cells(TestPuzzles.CLASSIC)
+        assertTrue(solver.solveCells(classic))
+        assertArrayEquals(TestPuzzles.cells(TestPuzzles.CLASSIC_SOLUTION), classic)
+
+        val hardest = TestPuzzles.cells(TestPuzzles.HARDEST)
+        assertTrue(solver.solveCells(hardest))
+        assertArrayEquals(TestPuzzles.cells(TestPuzzles.HARDEST_SOLUTION), hardest)
+    }
+
+    @Test
+    fun agreesWithBitmaskSolver() {
+        val bitmask = BitmaskSolver()
+        val puzzles = TestPuzzles.SEVENTEEN_CLUES + TestPuzzles.CLASSIC + TestPuzzles.HARDEST
+        for (puzzle in puzzles) {
+            val expected = TestPuzzles.cells(puzzle)
+            val actual = TestPuzzles.cells(puzzle)
+            assertTrue(bitmask.solveCells(expected))
+            assertTrue(solver.solveCells(actual))
+            assertArrayEquals(puzzle, expected, actual)
+        }
+    }
+
+    @Test
+    fun solvesThroughTheInterface() {
+        val solution = solver.solve(TestPuzzles.grid(TestPuzzles.CLASSIC))
+        assertEquals(TestPuzzles.grid(TestPuzzles.CLASSIC_SOLUTION), solution)
+    }
+
+    @Test
+    fun rejectsConflictingGivens() {
+        // A second 9 in the last column
+        val cells = TestPuzzles.cells(TestPuzzles.CLASSIC)
+        cells[8] = 9
+        assertFalse(solver.solveCells(cells))
+
+        val grid = TestPuzzles.grid(TestPuzzles.CLASSIC).with(0, 8, 9)
+        assertNull(solver.solve(grid))
+        assertNull(BitmaskSolver().solve(grid))
+    }
+
+    @Test
+    fun rejectsBoardWithAStuckCell() {
+        val cells = IntArray(81)
+        for (col in 0 until 8) cells[col] = col + 1
+        cells[4 * 9 + 8] = 9
+        assertFalse(solver.solveCells(cells))
+    }
+}
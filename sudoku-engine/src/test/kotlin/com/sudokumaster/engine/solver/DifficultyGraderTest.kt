@@ -0,0 +1,104 @@
+package com.sudokumaster.engine.solver
+
+import com.sudokumaster.engine.TestPuzzles
+import com.sudokumaster.engine.model.DifficultyLevel
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class DifficultyGraderTest {
+
+    private val logicalSolver = LogicalSolver()
+    private val grader = DifficultyGrader(logicalSolver)
+
+    @Test
+    fun shortSinglesPuzzleIsEasy() {
+        // The solution with its first row emptied
+        val cells = TestPuzzles.cells(TestPuzzles.CLASSIC_SOLUTION)
+        cells.fill(0, 0, 9)
+        val grade = grader.gradeCells(cells)
+        assertTrue(grade.solvedLogically)
+        assertTrue(grade.hardestTechnique!! <= SolvingTechnique.HIDDEN_SINGLE)
+        assertEquals(DifficultyLevel.EASY, grade.level)
+    }
+
+    @Test
+    fun longSinglesChainIsStillEasy() {
+        // 51 and 55 blanks, every one filled by a naked or hidden single
+        for (puzzle in listOf(TestPuzzles.CLASSIC, SINGLES_ONLY_55_BLANKS)) {
+            val grid = TestPuzzles.grid(puzzle)
+            val grade = grader.grade(grid)
+            assertTrue(grade.solvedLogically)
+            assertTrue(grade.hardestTechnique!! <= SolvingTechnique.HIDDEN_SINGLE)
+            assertEquals(81 - grid.filledCount, grade.techniqueCounts.values.sum())
+            assertEquals(0, grade.score)
+            assertEquals(DifficultyLevel.EASY, grade.level)
+        }
+        assertEquals(55, 81 - TestPuzzles.grid(SINGLES_ONLY_55_BLANKS).filledCount)
+    }
+
+    @Test
+    fun puzzleBeyondTheLogicalSolverIsHard() {
+        val grade = grader.grade(TestPuzzles.grid(TestPuzzles.HARDEST))
+        assertFalse(grade.solvedLogically)
+        assertEquals(DifficultyLevel.HARD, grade.level)
+    }
+
+    @Test
+    fun solvedBoardNeedsNoTechniques() {
+        val grade = grader.grade(TestPuzzles.grid(TestPuzzles.CLASSIC_SOLUTION))
+        assertTrue(grade.solvedLogically)
+        assertEquals(0, grade.score)
+        assertTrue(grade.techniqueCounts.isEmpty())
+        assertEquals(DifficultyLevel.EASY, grade.level)
+    }
+
+    @Test
+    fun scoreWeightsOnlyStepsBeyondSingles() {
+        val grade = grader.grade(TestPuzzles.grid(TestPuzzles.HARDEST))
+        val expected = grade.techniqueCounts.entries
+            .filter { (technique, _) -> technique > SolvingTechnique.HIDDEN_SINGLE }
+            .sumOf { (technique, count) -> technique.weight * count }
+        // Plus the penalty for needing more than the logical solver knows
+        assertTrue(grade.score > expected)
+        assertEquals(0, grader.grade(TestPuzzles.grid(TestPuzzles.CLASSIC)).score)
+    }
+
+    @Test
+    fun levelFollowsTheHardestTechnique() {
+        val longSinglesChain = PuzzleGrade(
+            score = 0,
+            solvedLogically = true,
+            techniqueCounts = mapOf(SolvingTechnique.NAKED_SINGLE to 60, SolvingTechnique.HIDDEN_SINGLE to 20)
+        )
+        assertEquals(DifficultyLevel.EASY, longSinglesChain.level)
+
+        val pair = PuzzleGrade(8, true, mapOf(SolvingTechnique.NAKED_SINGLE to 50, SolvingTechnique.NAKED_PAIR to 1))
+        assertEquals(DifficultyLevel.MEDIUM, pair.level)
+
+        val wing = PuzzleGrade(20, true, mapOf(SolvingTechnique.X_WING to 1))
+        assertEquals(DifficultyLevel.HARD, wing.level)
+    }
+
+    @Test
+    fun leavesTheBoardUntouched() {
+        val cells = TestPuzzles.cells(TestPuzzles.HARDEST)
+        logicalSolver.solve(cells)
+        assertArrayEquals(TestPuzzles.cells(TestPuzzles.HARDEST), cells)
+    }
+
+    @Test
+    fun stopsOnAContradiction() {
+        val cells = IntArray(81)
+        for (col in 0 until 8) cells[col] = col + 1
+        cells[4 * 9 + 8] = 9
+        assertFalse(logicalSolver.solve(cells).solved)
+    }
+
+    companion object {
+        private const val SINGLES_ONLY_55_BLANKS =
+            "018000090502000080060048200000000000083200010000000070000583740000074009700020050"
+    }
+}
@@ -0,0 +1,89 @@
+package com.sudokumaster.engine.solver
+
+import com.sudokumaster.engine.TestPuzzles
+import com.sudokumaster.engine.model.SudokuGrid
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+// Runs every check against both engines
+class SolutionCountTest {
+
+    private val solvers = listOf(BitmaskSolver(), DancingLinksSolver())
+
+    @Test
+    fun uniquePuzzlesCountOne() {
+        val puzzles = TestPuzzles.SEVENTEEN_CLUES + TestPuzzles.CLASSIC + TestPuzzles.HARDEST
+        for (solver in solvers) {
+            for (puzzle in puzzles) {
+                assertEquals(puzzle, 1, solver.countSolutions(TestPuzzles.grid(puzzle)))
+                assertTrue(solver.hasUniqueSolution(TestPuzzles.grid(puzzle)))
+            }
+        }
+    }
+
+    @Test
+    fun ambiguousBoardsStopAtTwo() {
+        for (solver in solvers) {
+            // A 17-clue puzzle is minimal, so dropping any clue leaves several solutions
+            for (puzzle in TestPuzzles.SEVENTEEN_CLUES) {
+                val cells = TestPuzzles.cells(puzzle)
+                cells[cells.indexOfFirst { it != 0 }] = 0
+                assertEquals(2, solver.countSolutionsCells(cells, 2))
+                assertFalse(solver.hasUniqueSolution(SudokuGrid.fromCells(cells)))
+            }
+
+            // 6 and 7 sit in rows 0 and 3, columns 3 and 4 of the solution: emptying that
+            // rectangle lets them swap, which gives exactly one more solution
+            val rectangle = TestPuzzles.cells(TestPuzzles.CLASSIC_SOLUTION)
+            for (cell in intArrayOf(3, 4, 9 * 3 + 3, 9 * 3 + 4)) rectangle[cell] = 0
+            assertEquals(2, solver.countSolutionsCells(rectangle, 10))
+        }
+    }
+
+    @Test
+    fun respectsTheLimit() {
+        for (solver in solvers) {
+            assertEquals(1, solver.countSolutions(SudokuGrid.EMPTY, 1))
+            assertEquals(10, solver.countSolutions(SudokuGrid.EMPTY, 10))
+        }
+    }
+
+    @Test
+    fun conflictingGivensHaveNoSolutions() {
+        val cells = TestPuzzles.cells(TestPuzzles.CLASSIC)
+        cells[2] = 5
+        for (solver in solvers) {
+            assertEquals(0, solver.countSolutionsCells(cells, 2))
+            assertFalse(solver.hasUniqueSolution(SudokuGrid.fromCells(cells)))
+        }
+    }
+
+    @Test
+    fun uniqueSolutionOnlyForUniquePuzzles() {
+        val ambiguous = TestPuzzles.cells(TestPuzzles.SEVENTEEN_CLUES.first())
+        ambiguous[ambiguous.indexOfFirst { it != 0 }] = 0
+        val conflicting = TestPuzzles.cells(TestPuzzles.CLASSIC)
+        conflicting[2] = 5
+        for (solver in solvers) {
+            assertEquals(
+                TestPuzzles.grid(TestPuzzles.HARDEST_SOLUTION),
+                solver.uniqueSolution(TestPuzzles.grid(TestPuzzles.HARDEST))
+            )
+            assertNull(solver.uniqueSolution(SudokuGrid.fromCells(ambiguous)))
+            assertNull(solver.uniqueSolution(SudokuGrid.fromCells(conflicting)))
+        }
+    }
+
+    @Test
+    fun countingLeavesTheBoardUntouched() {
+        for (solver in solvers) {
+            val cells = TestPuzzles.cells(TestPuzzles.HARDEST)
+            solver.countSolutionsCells(cells, 2)
+            assertArrayEquals(TestPuzzles.cells(TestPuzzles.HARDEST), cells)
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.sudokumaster.engine.solver
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class SudokuGeometryTest {
+
+    @Test
+    fun everyCellIsInOneRowColumnAndBox() {
+        for (cell in 0 until SudokuGeometry.CELL_COUNT) {
+            val units = SudokuGeometry.UNITS.indices.filter { cell in SudokuGeometry.UNITS[it] }
+            assertEquals(
+                listOf(SudokuGeometry.ROW_OF[cell], 9 + SudokuGeometry.COL_OF[cell], 18 + SudokuGeometry.BOX_OF[cell]),
+                units
+            )
+        }
+    }
+
+    @Test
+    fun everyCellHasTwentyPeers() {
+        for (cell in 0 until SudokuGeometry.CELL_COUNT) {
+            val peers = SudokuGeometry.PEERS[cell]
+            assertEquals(20, peers.distinct().size)
+            assertFalse(cell in peers)
+            for (other in 0 until SudokuGeometry.CELL_COUNT) {
+                assertEquals(other in peers, SudokuGeometry.isPeer(cell, other))
+            }
+        }
+    }
+
+    @Test
+    fun boxesAreNumberedRowByRow() {
+        assertEquals(0, SudokuGeometry.BOX_OF[0])
+        assertEquals(2, SudokuGeometry.BOX_OF[8])
+        assertEquals(4, SudokuGeometry.BOX_OF[40])
+        assertEquals(6, SudokuGeometry.BOX_OF[72])
+        assertEquals(8, SudokuGeometry.BOX_OF[80])
+        assertTrue(SudokuGeometry.isPeer(0, 20))
+        assertFalse(SudokuGeometry.isPeer(0, 30))
+    }
+}
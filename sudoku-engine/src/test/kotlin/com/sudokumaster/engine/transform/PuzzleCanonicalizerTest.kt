@@ -0,0 +1,60 @@
+package com.sudokumaster.engine.transform
+
+import com.sudokumaster.engine.TestPuzzles
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import kotlin.random.Random
+
+class PuzzleCanonicalizerTest {
+
+    private val canonicalizer = PuzzleCanonicalizer()
+    private val transformer = PuzzleTransformer(Random(13))
+
+    @Test
+    fun canonicalFormIsInvariantUnderRandomTransforms() {
+        val puzzles = TestPuzzles.SEVENTEEN_CLUES + TestPuzzles.CLASSIC + TestPuzzles.HARDEST
+        for (puzzle in puzzles) {
+            val grid = TestPuzzles.grid(puzzle)
+            val form = canonicalizer.canonicalForm(grid)
+            val hash = canonicalizer.canonicalHash(grid)
+            repeat(25) {
+                val variant = transformer.randomTransform().apply(grid)
+                assertEquals(form, canonicalizer.canonicalForm(variant))
+                assertEquals(hash, canonicalizer.canonicalHash(variant))
+            }
+        }
+    }
+
+    @Test
+    fun canonicalFormIsAVariantOfThePuzzle() {
+        val grid = TestPuzzles.grid(TestPuzzles.CLASSIC)
+        val form = canonicalizer.canonicalForm(grid)
+        assertEquals(grid.filledCount, form.filledCount)
+        // Canonicalising twice changes nothing
+        assertEquals(form, canonicalizer.canonicalForm(form))
+        // Digits are relabelled in order of first appearance
+        val firstDigits = form.toCells().filter { it != 0 }.distinct()
+        assertEquals((1..firstDigits.size).toList(), firstDigits)
+    }
+
+    @Test
+    fun differentPuzzlesHashDifferently() {
+        val puzzles = TestPuzzles.SEVENTEEN_CLUES + TestPuzzles.CLASSIC + TestPuzzles.HARDEST
+        val hashes = puzzles.map { canonicalizer.canonicalHash(TestPuzzles.grid(it)) }.toSet()
+        assertEquals(puzzles.size, hashes.size)
+
+        // One extra clue is a different puzzle
+        val grid = TestPuzzles.grid(TestPuzzles.CLASSIC)
+        assertNotEquals(canonicalizer.canonicalHash(grid), canonicalizer.canonicalHash(grid.with(0, 2, 4)))
+    }
+
+    @Test
+    fun solvedGridsCanonicaliseToo() {
+        val solution = TestPuzzles.grid(TestPuzzles.CLASSIC_SOLUTION)
+        val form = canonicalizer.canonicalForm(solution)
+        assertTrue(form.isSolutionOf(form))
+        assertEquals(form, canonicalizer.canonicalForm(transformer.randomTransform().apply(solution)))
+    }
+}
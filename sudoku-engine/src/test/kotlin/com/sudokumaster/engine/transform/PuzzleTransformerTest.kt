@@ -0,0 +1,48 @@
+package com.sudokumaster.engine.transform
+
+import com.sudokumaster.engine.TestPuzzles
+import com.sudokumaster.engine.solver.BitmaskSolver
+import com.sudokumaster.engine.solver.DifficultyGrader
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import kotlin.random.Random
+
+class PuzzleTransformerTest {
+
+    private val transformer = PuzzleTransformer(Random(9))
+    private val solver = BitmaskSolver()
+
+    @Test
+    fun transformedSolutionSolvesTransformedPuzzle() {
+        val puzzle = TestPuzzles.grid(TestPuzzles.HARDEST)
+        val solution = TestPuzzles.grid(TestPuzzles.HARDEST_SOLUTION)
+        repeat(200) {
+            val transform = transformer.randomTransform()
+            val variant = transform.apply(puzzle)
+            val variantSolution = transform.apply(solution)
+            assertEquals(puzzle.filledCount, variant.filledCount)
+            assertTrue(variantSolution.isSolutionOf(variant))
+            assertEquals(variantSolution, solver.solve(variant))
+        }
+    }
+
+    @Test
+    fun keepsTheGrade() {
+        val grader = DifficultyGrader()
+        val puzzle = TestPuzzles.grid(TestPuzzles.CLASSIC)
+        val grade = grader.grade(puzzle)
+        repeat(50) {
+            val variant = transformer.randomTransform().apply(puzzle)
+            assertEquals(grade.level, grader.grade(variant).level)
+            assertEquals(grade.solvedLogically, grader.grade(variant).solvedLogically)
+        }
+    }
+
+    @Test
+    fun producesDifferentVariants() {
+        val puzzle = TestPuzzles.grid(TestPuzzles.CLASSIC)
+        val variants = List(20) { transformer.randomTransform().apply(puzzle) }.toSet()
+        assertTrue(variants.size > 1)
+    }
+}
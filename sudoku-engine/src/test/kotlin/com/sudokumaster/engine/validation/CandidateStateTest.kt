@@ -0,0 +1,148 @@
+package com.sudokumaster.engine.validation
+
+import com.sudokumaster.engine.TestPuzzles
+import com.sudokumaster.engine.model.CellSet
+import com.sudokumaster.engine.model.SudokuGrid
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import kotlin.random.Random
+
+class CandidateStateTest {
+
+    @Test
+    fun loadsCandidatesOfAPuzzle() {
+        val grid = TestPuzzles.grid(TestPuzzles.CLASSIC)
+        val state = CandidateState()
+        state.load(grid)
+        assertEquals(grid.filledCount, state.filledCount)
+        assertMatchesBoard(grid.toCells(), state)
+    }
+
+    @Test
+    fun staysInStepWithRandomMoves() {
+        val random = Random(5)
+        val cells = TestPuzzles.cells(TestPuzzles.CLASSIC)
+        val state = CandidateState()
+        state.load(SudokuGrid.fromCells(cells))
+        repeat(2_000) {
+            val cell = random.nextInt(81)
+            val value = random.nextInt(10)
+            assertEquals(cells[cell], state.set(cell, value))
+            cells[cell] = value
+            assertMatchesBoard(cells, state)
+        }
+    }
+
+    @Test
+    fun settingThePreviousValueUndoesAMove() {
+        val state = CandidateState()
+        state.load(TestPuzzles.grid(TestPuzzles.CLASSIC))
+        val before = IntArray(81) { state.candidatesAt(it) }
+
+        val previous = state.set(2, 4)
+        assertEquals(0, previous)
+        state.set(2, previous)
+        for (cell in 0 until 81) assertEquals(before[cell], state.candidatesAt(cell))
+    }
+
+    @Test
+    fun checksPlacementsAgainstPeers() {
+        val state = CandidateState()
+        state.load(TestPuzzles.grid(TestPuzzles.CLASSIC))
+        // Row 0 already has a 5, column 2 an 8, and the top-left box a 9
+        assertFalse(state.isValidPlacement(2, 5))
+        assertFalse(state.isValidPlacement(2, 8))
+        assertFalse(state.isValidPlacement(2, 9))
+        assertTrue(state.isValidPlacement(2, 4))
+        // A filled cell does not clash with itself
+        assertTrue(state.isValidPlacement(0, 5))
+    }
+
+    @Test
+    fun checksAMoveAlreadyOnTheBoard() {
+        // The app's fallback validator loads the board with the move applied
+        val cells = TestPuzzles.cells(TestPuzzles.CLASSIC)
+        cells[2] = 4
+        val state = CandidateState()
+        state.load(SudokuGrid.fromCells(cells))
+        assertTrue(state.isValidPlacement(2, 4))
+
+        cells[2] = 5
+        state.load(SudokuGrid.fromCells(cells))
+        assertFalse(state.isValidPlacement(2, 5))
+    }
+
+    @Test
+    fun flagsEveryCellOfAClash() {
+        val state = CandidateState()
+        state.load(TestPuzzles.grid(TestPuzzles.CLASSIC))
+        assertTrue(state.conflicts.isEmpty())
+
+        // A 5 in cell 2 clashes with the 5 in cell 0 only
+        state.set(2, 5)
+        assertEquals(CellSet.EMPTY + 0 + 2, state.conflicts)
+        // A third 5 in the same box and column as cell 0 adds itself and keeps the others
+        state.set(18, 5)
+        assertEquals(CellSet.EMPTY + 0 + 2 + 18, state.conflicts)
+        state.set(2, 0)
+        assertEquals(CellSet.EMPTY + 0 + 18, state.conflicts)
+        state.set(18, 0)
+        assertTrue(state.conflicts.isEmpty())
+    }
+
+    @Test
+    fun solvedOnlyWhenFullAndClashFree() {
+        val state = CandidateState()
+        state.load(TestPuzzles.grid(TestPuzzles.CLASSIC_SOLUTION))
+        assertTrue(state.isSolved)
+
+        // Swapping two digits within a row keeps the board full but breaks columns
+        val first = state.valueAt(0)
+        state.set(0, state.valueAt(1))
+        state.set(1, first)
+        assertFalse(state.isSolved)
+        assertEquals(81, state.filledCount)
+
+        state.set(1, state.valueAt(0))
+        state.set(0, first)
+        assertTrue(state.isSolved)
+        state.set(40, 0)
+        assertFalse(state.isSolved)
+    }
+
+    // Recomputes unit counts, candidates and conflicts from scratch and compares them with the state
+    private fun assertMatchesBoard(cells: IntArray, state: CandidateState) {
+        for (digit in 1..9) {
+            for (unit in 0 until 9) {
+                assertEquals((0 until 9).count { cells[unit * 9 + it] == digit }, state.countInRow(unit, digit))
+                assertEquals((0 until 9).count { cells[it * 9 + unit] == digit }, state.countInColumn(unit, digit))
+                assertEquals(boxCells(unit).count { cells[it] == digit }, state.countInBox(unit, digit))
+            }
+        }
+        for (cell in 0 until 81) {
+            assertEquals(cells[cell], state.valueAt(cell))
+            val expected = if (cells[cell] != 0) 0 else (1..9)
+                .filter { digit -> peersOf(cell).none { cells[it] == digit } }
+                .fold(0) { mask, digit -> mask or (1 shl (digit - 1)) }
+            assertEquals("cell $cell", expected, state.candidatesAt(cell))
+        }
+        assertEquals(cells.count { it != 0 }, state.filledCount)
+
+        val clashing = (0 until 81).filter { cell ->
+            cells[cell] != 0 && peersOf(cell).any { cells[it] == cells[cell] }
+        }
+        for (cell in 0 until 81) assertEquals("conflict $cell", cell in clashing, cell in state.conflicts)
+        assertEquals(clashing.size, state.conflictCount)
+        assertEquals(clashing.isEmpty() && cells.none { it == 0 }, state.isSolved)
+    }
+
+    private fun boxCells(box: Int): List<Int> =
+        (0 until 9).map { (box / 3 * 3 + it / 3) * 9 + box % 3 * 3 + it % 3 }
+
+    private fun peersOf(cell: Int): List<Int> = (0 until 81).filter { other ->
+        other != cell && (other / 9 == cell / 9 || other % 9 == cell % 9 ||
+            (other / 27 == cell / 27 && other % 9 / 3 == cell % 9 / 3))
+    }
+}
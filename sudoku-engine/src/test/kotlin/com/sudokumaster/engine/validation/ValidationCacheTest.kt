@@ -0,0 +1,84 @@
+package com.sudokumaster.engine.validation
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+import kotlin.random.Random
+
+class ValidationCacheTest {
+
+    @Test
+    fun returnsStoredResults() {
+        val cache = ValidationCache(8)
+        cache.put(1L, 10, 3, true)
+        cache.put(1L, 10, 4, false)
+        cache.put(2L, 10, 3, false)
+        assertEquals(true, cache[1L, 10, 3])
+        assertEquals(false, cache[1L, 10, 4])
+        assertEquals(false, cache[2L, 10, 3])
+        assertNull(cache[1L, 11, 3])
+        assertEquals(3, cache.size)
+    }
+
+    @Test
+    fun putOverwritesAnExistingEntry() {
+        val cache = ValidationCache(4)
+        cache.put(5L, 0, 1, true)
+        cache.put(5L, 0, 1, false)
+        assertEquals(false, cache[5L, 0, 1])
+        assertEquals(1, cache.size)
+    }
+
+    @Test
+    fun evictsTheLeastRecentlyUsedEntry() {
+        val cache = ValidationCache(3)
+        cache.put(1L, 0, 1, true)
+        cache.put(2L, 0, 1, true)
+        cache.put(3L, 0, 1, true)
+        // Reading the oldest entry makes 2L the least recently used
+        assertEquals(true, cache[1L, 0, 1])
+        cache.put(4L, 0, 1, true)
+        assertNull(cache[2L, 0, 1])
+        assertEquals(true, cache[1L, 0, 1])
+        assertEquals(true, cache[3L, 0, 1])
+        assertEquals(true, cache[4L, 0, 1])
+        assertEquals(3, cache.size)
+    }
+
+    @Test
+    fun behavesLikeAnLruMap() {
+        val capacity = 64
+        val cache = ValidationCache(capacity)
+        val reference = object : LinkedHashMap<Triple<Long, Int, Int>, Boolean>(16, 0.75f, true) {
+            override fun removeEldestEntry(eldest: MutableMap.MutableEntry<Triple<Long, Int, Int>, Boolean>) =
+                size > capacity
+        }
+        val random = Random(21)
+        repeat(50_000) {
+            // A small key space so that hits, misses and evictions all happen
+            val key = Triple(random.nextLong(40), random.nextInt(81), random.nextInt(1, 10))
+            if (random.nextBoolean()) {
+                val valid = random.nextBoolean()
+                cache.put(key.first, key.second, key.third, valid)
+                reference[key] = valid
+            } else {
+                assertEquals(reference[key], cache[key.first, key.second, key.third])
+            }
+        }
+        assertEquals(reference.size, cache.size)
+    }
+
+    @Test
+    fun clearEmptiesTheCache() {
+        val cache = ValidationCache(4)
+        cache.put(1L, 0, 1, true)
+        cache.clear()
+        assertEquals(0, cache.size)
+        assertNull(cache[1L, 0, 1])
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun rejectsZeroCapacity() {
+        ValidationCache(0)
+    }
+}
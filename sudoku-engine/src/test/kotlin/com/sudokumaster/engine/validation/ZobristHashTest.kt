@@ -0,0 +1,48 @@
+package com.sudokumaster.engine.validation
+
+import com.sudokumaster.engine.TestPuzzles
+import com.sudokumaster.engine.model.SudokuGrid
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotEquals
+import org.junit.Test
+import kotlin.random.Random
+
+class ZobristHashTest {
+
+    private val zobrist = ZobristHash()
+
+    @Test
+    fun emptyBoardHashesToZero() {
+        assertEquals(0L, zobrist.hash(SudokuGrid.EMPTY))
+    }
+
+    @Test
+    fun incrementalUpdatesMatchAFullHash() {
+        val random = Random(17)
+        var grid = TestPuzzles.grid(TestPuzzles.CLASSIC)
+        var hash = zobrist.hash(grid)
+        repeat(5_000) {
+            val cell = random.nextInt(81)
+            val value = random.nextInt(10)
+            hash = zobrist.update(hash, cell, grid.valueAt(cell), value)
+            grid = grid.with(cell / 9, cell % 9, value)
+            assertEquals(zobrist.hash(grid), hash)
+        }
+    }
+
+    @Test
+    fun undoingAMoveRestoresTheHash() {
+        val grid = TestPuzzles.grid(TestPuzzles.CLASSIC)
+        val hash = zobrist.hash(grid)
+        val placed = zobrist.update(hash, 2, 0, 4)
+        assertNotEquals(hash, placed)
+        assertEquals(hash, zobrist.update(placed, 2, 4, 0))
+    }
+
+    @Test
+    fun sameSeedGivesSameKeys() {
+        val grid = TestPuzzles.grid(TestPuzzles.HARDEST)
+        assertEquals(ZobristHash(1L).hash(grid), ZobristHash(1L).hash(grid))
+        assertNotEquals(ZobristHash(1L).hash(grid), ZobristHash(2L).hash(grid))
+    }
+}